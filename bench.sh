@@ -0,0 +1,11 @@
+#!/bin/sh
+# Compile src/ lalu jalankan MazeBenchmark; semua argumen diteruskan (lihat MazeBenchmark / --help).
+# Heap bisa diatur lewat BENCH_JAVA_OPTS, default cukup untuk maze 4000x4000.
+#   ./bench.sh --sizes 200,1000 --only solve --iterations 20 > bench.csv
+set -e
+cd "$(dirname "$0")"
+OUT=out/bench
+rm -rf "$OUT"
+mkdir -p "$OUT"
+javac -encoding UTF-8 -d "$OUT" src/*.java
+exec java ${BENCH_JAVA_OPTS:--Xms2g -Xmx2g} -cp "$OUT" MazeBenchmark "$@"
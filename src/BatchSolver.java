@@ -0,0 +1,87 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+// Menjalankan banyak pasangan (maze, algoritma) paralel di ForkJoinPool (work-stealing).
+// Tiap maze punya generator + Random sendiri. Job untuk maze yang sama berbagi satu
+// SearchEngine (read-only) tapi masing-masing meminjam SearchContext dari pool,
+// jadi antar job tidak ada state mutable yang dibagi selain agregat hasil.
+public class BatchSolver {
+    public static final class Result {
+        public final int maze;
+        public final long seed;
+        public final String algorithm;
+        public final boolean found;
+        public final int cellsExplored, pathLength, pathCost;
+        public final long timeUs;
+
+        Result(int maze, long seed, String algorithm, SearchEngine.PathResult r) {
+            this.maze = maze;
+            this.seed = seed;
+            this.algorithm = algorithm;
+            this.found = r.found;
+            this.cellsExplored = r.cellsExplored;
+            this.pathLength = r.path.length;
+            this.pathCost = r.pathCost;
+            this.timeUs = r.timeUs;
+        }
+    }
+
+    // Agregat per algoritma, aman diupdate dari banyak thread
+    public static final class Summary {
+        final LongAdder solves = new LongAdder(), found = new LongAdder();
+        final LongAdder cellsExplored = new LongAdder(), timeUs = new LongAdder();
+
+        public long solves() { return solves.sum(); }
+        public long found() { return found.sum(); }
+        public double meanCellsExplored() { long n = solves(); return n == 0 ? 0 : (double) cellsExplored.sum() / n; }
+        public double meanTimeUs() { long n = solves(); return n == 0 ? 0 : (double) timeUs.sum() / n; }
+    }
+
+    private final int threads;
+    private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+    public BatchSolver(int threads) { this.threads = threads; }
+
+    public Map<String, Summary> getSummaries() { return summaries; }
+
+    // Generate 'count' maze (maze ke-i dari seed baseSeed + i) lalu solve dengan semua algoritma.
+    // onResult dipanggil dari thread worker begitu satu job selesai, jadi harus thread-safe.
+    public void run(int count, long baseSeed, LongFunction<MazeGrid> mazeFactory, String[] algorithms, Consumer<Result> onResult) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(m -> {
+                long seed = baseSeed + m;
+                MazeGrid grid = mazeFactory.apply(seed);
+                SearchEngine engine = new SearchEngine(grid);
+                int end = grid.size() - 1;
+                Arrays.stream(algorithms).parallel().forEach(algo -> {
+                    Result r = new Result(m, seed, algo, engine.findPath(algo, 0, end));
+                    record(r);
+                    onResult.accept(r);
+                });
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Batch interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void record(Result r) {
+        Summary s = summaries.computeIfAbsent(r.algorithm, k -> new Summary());
+        s.solves.increment();
+        if (r.found) s.found.increment();
+        s.cellsExplored.add(r.cellsExplored);
+        s.timeUs.add(r.timeUs);
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.Arrays;
+
+// Dial's bucket queue: satu bucket per nilai key, disusun melingkar.
+// Hanya valid kalau key yang di-push selalu dalam [minKey, minKey + bucketCount)
+// dan key yang di-poll tidak pernah turun (Dijkstra dengan bobot integer kecil,
+// atau A* dengan heuristik konsisten). Push/poll O(1) amortized.
+// push() pada sel yang sudah ada di antrian hanya menurunkan key-nya (decrease-key),
+// jadi tidak ada entry basi.
+public class BucketQueue {
+    private final int[] head;        // sel pertama di tiap bucket, -1 = kosong
+    private final int[] next, prev;  // linked list intrusif per sel
+    private final int[] key;         // -1 = tidak ada di antrian
+    private int cursor;              // key minimum saat ini
+    private int size;
+
+    public BucketQueue(int cells, int bucketCount) {
+        head = new int[bucketCount];
+        next = new int[cells];
+        prev = new int[cells];
+        key = new int[cells];
+        Arrays.fill(head, -1);
+        Arrays.fill(key, -1);
+    }
+
+    public int bucketCount() { return head.length; }
+
+    public void push(int cell, int k) {
+        if (key[cell] >= 0) unlink(cell);
+        else size++;
+        if (size == 1 || k < cursor) cursor = k;
+        key[cell] = k;
+        int b = k % head.length;
+        prev[cell] = -1;
+        next[cell] = head[b];
+        if (head[b] >= 0) prev[head[b]] = cell;
+        head[b] = cell;
+    }
+
+    public int poll() {
+        int b = cursor % head.length;
+        while (head[b] < 0) {
+            cursor++;
+            if (++b == head.length) b = 0;
+        }
+        int cell = head[b];
+        unlink(cell);
+        key[cell] = -1;
+        size--;
+        return cell;
+    }
+
+    private void unlink(int cell) {
+        int b = key[cell] % head.length;
+        if (prev[cell] >= 0) next[prev[cell]] = next[cell];
+        else head[b] = next[cell];
+        if (next[cell] >= 0) prev[next[cell]] = prev[cell];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public void clear() {
+        // Cukup lepas sel yang masih ada di bucket, bukan seluruh array sel
+        for (int b = 0; b < head.length; b++) {
+            for (int c = head[b]; c >= 0; c = next[c]) key[c] = -1;
+            head[b] = -1;
+        }
+        size = 0;
+    }
+}
@@ -0,0 +1,278 @@
+import java.util.stream.IntStream;
+
+// Abstraksi HPA*: grid dibagi cluster CLUSTER_SIZE x CLUSTER_SIZE. Setiap sel yang punya jalan
+// terbuka ke cluster lain adalah entrance (node abstrak). Sisi abstrak:
+//   intra : entrance -> entrance di cluster yang sama, cost = jarak terpendek di dalam cluster
+//           (tabel m x m per cluster, dihitung sekali)
+//   inter : entrance -> tetangga di cluster sebelah, cost = bobot sel tujuan
+// Karena setiap bukaan antar cluster jadi entrance (bukan satu wakil per segmen), path abstrak
+// terpendek = path terpendek sebenarnya, bukan sekadar mendekati.
+//
+// Graf ini immutable: dinding dan bobot dibaca dari snapshot, bukan dari grid live. Kalau maze
+// berubah, update() membandingkan snapshot dan hanya menghitung ulang cluster yang selnya berubah;
+// cluster lain dipakai bersama (copy-on-write), jadi query yang sedang jalan di graf lama tetap
+// konsisten (menjawab untuk maze versi lama).
+final class ClusterGraph {
+    static final int CLUSTER_SIZE = 16;
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int START = -1; // Parent entrance yang di-seed langsung dari start
+    private static final int NONE = -1, DIRECT = -2; // Entrance terakhir sebelum end
+
+    final int version;
+    final int rebuiltClusters; // Jumlah cluster yang dihitung ulang saat graf ini dibuat
+    private final Maze grid;
+    private final int cols, clusterCols;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+    private final byte[] wallSnapshot, terrainSnapshot;
+    private final Cluster[] clusters;
+
+    private static final class Cluster {
+        final int[] entrances; // Index sel
+        final int[] dist;      // dist[i * m + j] = cost entrance i -> j di dalam cluster (INF = tidak terhubung)
+        final short[] local;   // Posisi lokal sel ((r - r0) * CLUSTER_SIZE + (c - c0)) -> index entrance, -1 kalau bukan
+
+        Cluster(int[] entrances, int[] dist, short[] local) {
+            this.entrances = entrances;
+            this.dist = dist;
+            this.local = local;
+        }
+    }
+
+    ClusterGraph(Maze grid) { this(grid, null); }
+
+    // previous == null: bangun semua cluster
+    private ClusterGraph(Maze grid, ClusterGraph previous) {
+        this.version = grid.version();
+        this.grid = grid;
+        this.cols = grid.getCols();
+        int rows = grid.getRows();
+        this.clusterCols = (cols + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        int count = ((rows + CLUSTER_SIZE - 1) / CLUSTER_SIZE) * clusterCols;
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+
+        int n = grid.size();
+        wallSnapshot = new byte[n];
+        terrainSnapshot = new byte[n];
+        boolean[] dirty = new boolean[count];
+        for (int c = 0; c < n; c++) {
+            wallSnapshot[c] = (byte) grid.walls(c);
+            terrainSnapshot[c] = (byte) grid.terrain(c);
+            if (previous != null && (wallSnapshot[c] != previous.wallSnapshot[c] || terrainSnapshot[c] != previous.terrainSnapshot[c])) {
+                dirty[clusterOf(c)] = true;
+            }
+        }
+
+        clusters = previous == null ? new Cluster[count] : previous.clusters.clone();
+        int[] todo = IntStream.range(0, count).filter(k -> previous == null || dirty[k]).toArray();
+        rebuiltClusters = todo.length;
+        // Tiap cluster hanya menulis slot miliknya sendiri, jadi aman paralel
+        IntStream.of(todo).parallel().forEach(k -> {
+            SearchContext s = SearchContext.acquire(n);
+            try {
+                clusters[k] = buildCluster(k, s);
+            } finally {
+                s.release();
+            }
+        });
+    }
+
+    // Graf baru untuk versi maze sekarang, hanya cluster yang berubah yang dihitung ulang
+    ClusterGraph update() { return new ClusterGraph(grid, this); }
+
+    public int clusterCount() { return clusters.length; }
+
+    private int clusterOf(int c) {
+        return (c / cols / CLUSTER_SIZE) * clusterCols + (c % cols) / CLUSTER_SIZE;
+    }
+
+    private int localOf(int c) {
+        return (c / cols % CLUSTER_SIZE) * CLUSTER_SIZE + c % cols % CLUSTER_SIZE;
+    }
+
+    private int openDirs(int c) { return ~wallSnapshot[c] & MazeGrid.ALL_WALLS; }
+
+    private int weight(int c) { return MazeGrid.weightOf(terrainSnapshot[c]); }
+
+    private Cluster buildCluster(int k, SearchContext s) {
+        int r0 = (k / clusterCols) * CLUSTER_SIZE, c0 = (k % clusterCols) * CLUSTER_SIZE;
+        int r1 = Math.min(r0 + CLUSTER_SIZE, grid.getRows()), c1 = Math.min(c0 + CLUSTER_SIZE, cols);
+        short[] local = new short[CLUSTER_SIZE * CLUSTER_SIZE];
+        java.util.Arrays.fill(local, (short) -1);
+        IntList entrances = new IntList();
+        for (int r = r0; r < r1; r++) {
+            for (int c = c0; c < c1; c++) {
+                int cell = r * cols + c;
+                for (int open = openDirs(cell); open != 0; open &= open - 1) {
+                    if (clusterOf(cell + offset[open & -open]) != k) {
+                        local[localOf(cell)] = (short) entrances.size();
+                        entrances.add(cell);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int m = entrances.size();
+        int[] dist = new int[m * m];
+        for (int i = 0; i < m; i++) {
+            clusterSearch(k, entrances.get(i), -1, false, s, null);
+            for (int j = 0; j < m; j++) dist[i * m + j] = s.g(entrances.get(j));
+        }
+        return new Cluster(entrances.toArray(), dist, local);
+    }
+
+    // Dijkstra (target = -1, jelajahi seluruh cluster) atau A* ke target, tanpa keluar cluster k.
+    // reverse: cari di graf terbalik, jadi g(x) = cost x -> source.
+    private void clusterSearch(int k, int source, int target, boolean reverse, SearchContext s, SearchContext stats) {
+        s.begin();
+        int targetRow = target < 0 ? 0 : target / cols, targetCol = target < 0 ? 0 : target % cols;
+        s.open(source, 0, -1);
+        s.heap.add(LongMinHeap.pack(0, source));
+        while (!s.heap.isEmpty()) {
+            int current = LongMinHeap.cell(s.heap.poll());
+            s.countPop();
+            if (s.isClosed(current)) {
+                s.countStale();
+                continue;
+            }
+            s.close(current);
+            if (stats != null) { stats.trace.add(current); stats.explored++; }
+            if (current == target) return;
+
+            int currentCost = s.gCost[current];
+            int stepOut = reverse ? weight(current) : 0;
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                s.countRelax();
+                if (clusterOf(neighbor) != k || s.isClosed(neighbor)) continue;
+                int newCost = currentCost + (reverse ? stepOut : weight(neighbor));
+                if (newCost < s.g(neighbor)) {
+                    s.open(neighbor, newCost, current);
+                    int h = target < 0 ? 0 : Math.abs(targetRow - neighbor / cols) + Math.abs(targetCol - neighbor % cols);
+                    s.heap.add(LongMinHeap.pack(newCost + h, neighbor));
+                    s.countPush();
+                }
+            }
+        }
+    }
+
+    // --- QUERY ---
+    // 1. sambung end: Dijkstra terbalik dari end di cluster-nya -> cost entrance -> end
+    // 2. sambung start: Dijkstra dari start di cluster-nya -> seed entrance
+    // 3. A* di graf abstrak (hanya entrance)
+    // 4. refine: tiap sisi intra diganti path sel lewat A* di dalam cluster
+    // Hasil ditulis ke ctx sebagai rantai parent per sel; exploredAbstract = ekspansi node abstrak,
+    // sisanya ekspansi sel (sambung + refine).
+    boolean search(int start, int end, SearchContext ctx) {
+        if (start == end) {
+            ctx.open(start, 0, -1);
+            ctx.trace.add(start);
+            ctx.explored++;
+            return true;
+        }
+        SearchContext abs = ctx.partner(), cells = abs.partner();
+        int ks = clusterOf(start), ke = clusterOf(end);
+        Cluster cs = clusters[ks], ce = clusters[ke];
+        int endRow = end / cols, endCol = end % cols;
+
+        clusterSearch(ke, end, -1, true, cells, ctx);
+        int[] toEnd = new int[ce.entrances.length];
+        for (int j = 0; j < toEnd.length; j++) toEnd[j] = cells.g(ce.entrances[j]);
+        int best = INF, finish = NONE;
+        if (ks == ke && cells.isTouched(start)) { best = cells.g(start); finish = DIRECT; }
+
+        clusterSearch(ks, start, -1, false, cells, ctx);
+        LongMinHeap heap = abs.heap;
+        for (int e : cs.entrances) {
+            if (!cells.isTouched(e)) continue;
+            int g = cells.g(e);
+            abs.open(e, g, START);
+            heap.add(LongMinHeap.pack(g + manhattan(e, endRow, endCol), e));
+            abs.countPush();
+        }
+
+        while (!heap.isEmpty()) {
+            long top = heap.poll();
+            abs.countPop();
+            if (LongMinHeap.cost(top) >= best) break;
+            int u = LongMinHeap.cell(top);
+            if (abs.isClosed(u)) {
+                abs.countStale();
+                continue;
+            }
+            abs.close(u);
+            ctx.trace.add(u);
+            ctx.explored++;
+            ctx.exploredAbstract++;
+            ctx.tick(heap.size());
+
+            int g = abs.gCost[u], ku = clusterOf(u);
+            Cluster cu = clusters[ku];
+            int li = cu.local[localOf(u)], m = cu.entrances.length;
+            if (ku == ke && toEnd[li] != INF && g + toEnd[li] < best) { best = g + toEnd[li]; finish = u; }
+
+            for (int j = 0; j < m; j++) {
+                int d = cu.dist[li * m + j];
+                if (j != li && d != INF) relax(abs, cu.entrances[j], g + d, u, endRow, endCol);
+            }
+            for (int open = openDirs(u); open != 0; open &= open - 1) {
+                int neighbor = u + offset[open & -open];
+                if (clusterOf(neighbor) != ku) relax(abs, neighbor, g + weight(neighbor), u, endRow, endCol);
+            }
+        }
+        if (finish == NONE) return false;
+        refine(start, end, finish, ks, ke, abs, cells, ctx);
+        return true;
+    }
+
+    private void relax(SearchContext abs, int v, int cost, int from, int endRow, int endCol) {
+        abs.countRelax();
+        if (abs.isClosed(v) || cost >= abs.g(v)) return;
+        abs.open(v, cost, from);
+        abs.heap.add(LongMinHeap.pack(cost + manhattan(v, endRow, endCol), v));
+        abs.countPush();
+    }
+
+    private int manhattan(int c, int endRow, int endCol) {
+        return Math.abs(endRow - c / cols) + Math.abs(endCol - c % cols);
+    }
+
+    // Path sel disusun mundur dari end, lalu ditulis sebagai rantai parent di ctx
+    private void refine(int start, int end, int finish, int ks, int ke, SearchContext abs, SearchContext cells, SearchContext ctx) {
+        IntList out = ctx.stack;
+        out.clear();
+        if (finish == DIRECT) {
+            clusterSearch(ks, start, end, false, cells, ctx);
+            for (int c = end; c != -1; c = cells.parentOf(c)) out.add(c);
+        } else {
+            clusterSearch(ke, finish, end, false, cells, ctx);
+            for (int c = end; c != finish; c = cells.parentOf(c)) out.add(c);
+            for (int u = finish; ; ) {
+                out.add(u);
+                int p = abs.parentOf(u);
+                if (p == START) {
+                    clusterSearch(ks, start, u, false, cells, ctx);
+                    for (int c = cells.parentOf(u); c != -1; c = cells.parentOf(c)) out.add(c);
+                    break;
+                }
+                int k = clusterOf(u);
+                if (clusterOf(p) == k) { // Sisi intra: isi dengan path di dalam cluster
+                    clusterSearch(k, p, u, false, cells, ctx);
+                    for (int c = cells.parentOf(u); c != p; c = cells.parentOf(c)) out.add(c);
+                }
+                u = p;
+            }
+        }
+
+        int prev = -1;
+        for (int i = out.size() - 1; i >= 0; i--) {
+            int c = out.get(i);
+            ctx.open(c, 0, prev);
+            prev = c;
+        }
+        out.clear();
+    }
+}
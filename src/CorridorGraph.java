@@ -0,0 +1,267 @@
+// Graf junction hasil kontraksi koridor. Maze perfect hampir seluruhnya berupa lorong berderajat 2,
+// jadi setiap lorong diringkas menjadi satu sisi berbobot antara dua node (junction / dead end).
+//
+//   node      : sel dengan derajat != 2 (ring tanpa junction: satu selnya dijadikan node)
+//   corridor k: sel interior corridorCells[corridorStart[k] .. corridorStart[k + 1]), urut dari
+//               endA[k] ke endB[k]; prefix[] = jumlah bobot kumulatif di dalam corridor
+//   owner[c]  : >= 0 id node, < 0 ~id corridor (slot[c] = posisi sel di corridorCells)
+//
+// Sisi berarah disimpan CSR. Bobot sisi a -> b = jumlah bobot interior + bobot sel b, sama
+// dengan konvensi g di SearchEngine (bobot sel start tidak dihitung).
+//
+// Graf dibangun sekali per versi maze (lihat SearchEngine.corridors()), query berikutnya hanya
+// mengekspansi node. Start/end boleh di tengah corridor.
+final class CorridorGraph {
+    private static final int UNASSIGNED = Integer.MIN_VALUE;
+    // Parent node hasil seed (bukan index sisi)
+    private static final int START_NODE = -1, VIA_A = -2, VIA_B = -3;
+    // Cara path mencapai end
+    private static final int NONE = 0, AT_NODE = 1, END_VIA_A = 2, END_VIA_B = 3, DIRECT = 4;
+
+    final int version;
+    private final Maze grid;
+    private final int cols;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+
+    private final int[] owner, slot;
+    private final int[] nodeCell;
+    private final int[] corridorStart, corridorCells, prefix, endA, endB;
+    private final int[] edgeStart, edgeTo, edgeFrom, edgeCorridor, edgeCost; // edgeCorridor: k (a -> b) atau ~k (b -> a)
+
+    CorridorGraph(Maze grid) {
+        this.version = grid.version();
+        this.grid = grid;
+        this.cols = grid.getCols();
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+
+        int n = grid.size();
+        owner = new int[n];
+        slot = new int[n];
+        IntList nodes = new IntList();
+        for (int c = 0; c < n; c++) {
+            if (Integer.bitCount(openDirs(c)) != 2) { owner[c] = nodes.size(); nodes.add(c); }
+            else owner[c] = UNASSIGNED;
+        }
+
+        IntList starts = new IntList(), cells = new IntList(), sums = new IntList(), as = new IntList(), bs = new IntList();
+        for (int u = 0; u < nodes.size(); u++) walk(u, nodes.get(u), starts, cells, sums, as, bs);
+        // Sisa sel derajat 2 yang belum punya corridor = ring tertutup tanpa junction
+        for (int c = 0; c < n; c++) {
+            if (owner[c] != UNASSIGNED) continue;
+            int u = nodes.size();
+            owner[c] = u;
+            nodes.add(c);
+            walk(u, c, starts, cells, sums, as, bs);
+        }
+
+        int corridors = starts.size();
+        starts.add(cells.size());
+        nodeCell = nodes.toArray();
+        corridorStart = starts.toArray();
+        corridorCells = cells.toArray();
+        prefix = sums.toArray();
+        endA = as.toArray();
+        endB = bs.toArray();
+
+        // CSR sisi berarah; corridor yang kembali ke node yang sama tidak jadi sisi
+        int nodeCount = nodeCell.length;
+        edgeStart = new int[nodeCount + 1];
+        for (int k = 0; k < corridors; k++) {
+            if (endA[k] == endB[k]) continue;
+            edgeStart[endA[k] + 1]++;
+            edgeStart[endB[k] + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) edgeStart[u + 1] += edgeStart[u];
+        int edges = edgeStart[nodeCount];
+        edgeTo = new int[edges];
+        edgeFrom = new int[edges];
+        edgeCorridor = new int[edges];
+        edgeCost = new int[edges];
+        int[] fill = java.util.Arrays.copyOf(edgeStart, nodeCount);
+        for (int k = 0; k < corridors; k++) {
+            int a = endA[k], b = endB[k];
+            if (a == b) continue;
+            int interior = interiorCost(k);
+            int e = fill[a]++;
+            edgeFrom[e] = a; edgeTo[e] = b; edgeCorridor[e] = k; edgeCost[e] = interior + grid.weight(nodeCell[b]);
+            e = fill[b]++;
+            edgeFrom[e] = b; edgeTo[e] = a; edgeCorridor[e] = ~k; edgeCost[e] = interior + grid.weight(nodeCell[a]);
+        }
+    }
+
+    private int openDirs(int c) { return ~grid.walls(c) & MazeGrid.ALL_WALLS; }
+
+    // Telusuri tiap arah dari node u; corridor yang sudah dibuat dari ujung lain di-skip
+    private void walk(int u, int cell, IntList starts, IntList cells, IntList sums, IntList as, IntList bs) {
+        for (int open = openDirs(cell); open != 0; open &= open - 1) {
+            int prev = cell, cur = cell + offset[open & -open];
+            if (owner[cur] >= 0) {
+                // Dua node bersebelahan: corridor tanpa interior, dibuat sekali dari node ber-id kecil
+                if (owner[cur] > u) { starts.add(cells.size()); as.add(u); bs.add(owner[cur]); }
+                continue;
+            }
+            if (owner[cur] != UNASSIGNED) continue;
+
+            int k = starts.size(), sum = 0;
+            starts.add(cells.size());
+            while (owner[cur] == UNASSIGNED) {
+                owner[cur] = ~k;
+                slot[cur] = cells.size();
+                cells.add(cur);
+                sum += grid.weight(cur);
+                sums.add(sum);
+                int dirs = openDirs(cur);
+                int next = cur + offset[dirs & -dirs];
+                if (next == prev) next = cur + offset[dirs & (dirs - 1)];
+                prev = cur;
+                cur = next;
+            }
+            as.add(u);
+            bs.add(owner[cur]);
+        }
+    }
+
+    public int nodeCount() { return nodeCell.length; }
+    public int corridorCount() { return corridorStart.length - 1; }
+
+    private int interiorCost(int k) {
+        int lo = corridorStart[k], hi = corridorStart[k + 1];
+        return hi == lo ? 0 : prefix[hi - 1];
+    }
+
+    // Jumlah bobot sel corridor sebelum slot i (dari sisi endA)
+    private int before(int i, int lo) { return i > lo ? prefix[i - 1] : 0; }
+
+    // --- QUERY ---
+    // Dijkstra / A* di atas node. Hasil ditulis ke ctx sebagai rantai parent per sel, jadi
+    // ctx.pathTo(end) tetap berlaku; trace & explored hanya berisi node yang diekspansi.
+    boolean search(int start, int end, boolean useHeuristic, SearchContext ctx) {
+        if (start == end) {
+            ctx.open(start, 0, -1);
+            ctx.trace.add(start);
+            ctx.explored++;
+            return true;
+        }
+        SearchContext nodes = ctx.partner();
+        LongMinHeap heap = nodes.heap;
+        int endRow = end / cols, endCol = end % cols;
+
+        int so = owner[start];
+        if (so >= 0) {
+            seed(nodes, so, 0, START_NODE, useHeuristic, endRow, endCol);
+        } else {
+            int k = ~so, i = slot[start], lo = corridorStart[k], hi = corridorStart[k + 1];
+            seed(nodes, endA[k], before(i, lo) + grid.weight(nodeCell[endA[k]]), VIA_A, useHeuristic, endRow, endCol);
+            seed(nodes, endB[k], prefix[hi - 1] - prefix[i] + grid.weight(nodeCell[endB[k]]), VIA_B, useHeuristic, endRow, endCol);
+        }
+
+        int eo = owner[end];
+        int best = Integer.MAX_VALUE, finish = NONE;
+        if (eo < 0 && eo == so) { // Start dan end di corridor yang sama: jalan langsung juga kandidat
+            int i = slot[start], j = slot[end], lo = corridorStart[~eo];
+            best = i < j ? prefix[j] - prefix[i] : before(i, lo) - before(j, lo);
+            finish = DIRECT;
+        }
+
+        while (!heap.isEmpty()) {
+            long top = heap.poll();
+            ctx.countPop();
+            if (LongMinHeap.cost(top) >= best) break; // Key = batas bawah cost total lewat node ini
+            int u = LongMinHeap.cell(top);
+            if (nodes.isClosed(u)) {
+                ctx.countStale();
+                continue;
+            }
+            nodes.close(u);
+            ctx.trace.add(nodeCell[u]);
+            ctx.explored++;
+            ctx.tick(heap.size());
+
+            int g = nodes.gCost[u];
+            if (eo >= 0) {
+                if (u == eo) { best = g; finish = AT_NODE; break; }
+            } else {
+                int k = ~eo, j = slot[end], lo = corridorStart[k], hi = corridorStart[k + 1];
+                if (u == endA[k] && g + prefix[j] < best) { best = g + prefix[j]; finish = END_VIA_A; }
+                if (u == endB[k] && g + prefix[hi - 1] - before(j, lo) < best) { best = g + prefix[hi - 1] - before(j, lo); finish = END_VIA_B; }
+            }
+
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; e++) {
+                int v = edgeTo[e];
+                ctx.countRelax();
+                if (nodes.isClosed(v)) continue;
+                int newCost = g + edgeCost[e];
+                if (newCost < nodes.g(v)) {
+                    nodes.open(v, newCost, e);
+                    heap.add(LongMinHeap.pack(useHeuristic ? newCost + heuristic(v, endRow, endCol) : newCost, v));
+                    ctx.countPush();
+                }
+            }
+        }
+        if (finish == NONE) return false;
+        expandPath(start, end, finish, nodes, ctx);
+        return true;
+    }
+
+    private void seed(SearchContext nodes, int u, int cost, int marker, boolean useHeuristic, int endRow, int endCol) {
+        if (cost >= nodes.g(u)) return;
+        nodes.open(u, cost, marker);
+        nodes.heap.add(LongMinHeap.pack(useHeuristic ? cost + heuristic(u, endRow, endCol) : cost, u));
+        nodes.countPush();
+    }
+
+    private int heuristic(int u, int endRow, int endCol) {
+        int c = nodeCell[u];
+        return Math.abs(endRow - c / cols) + Math.abs(endCol - c % cols);
+    }
+
+    // Susun ulang path per sel (mundur dari end) lalu tulis sebagai rantai parent di ctx
+    private void expandPath(int start, int end, int finish, SearchContext nodes, SearchContext ctx) {
+        IntList out = ctx.stack;
+        out.clear();
+        int j = slot[end];
+        if (finish == DIRECT) {
+            int step = slot[start] < j ? -1 : 1;
+            for (int x = j; x != slot[start]; x += step) out.add(corridorCells[x]);
+            out.add(start);
+        } else {
+            int u;
+            if (finish == AT_NODE) {
+                u = owner[end];
+            } else {
+                int k = ~owner[end], lo = corridorStart[k], hi = corridorStart[k + 1];
+                if (finish == END_VIA_A) { for (int x = j; x >= lo; x--) out.add(corridorCells[x]); u = endA[k]; }
+                else { for (int x = j; x < hi; x++) out.add(corridorCells[x]); u = endB[k]; }
+            }
+            while (true) {
+                out.add(nodeCell[u]);
+                int p = nodes.parentOf(u);
+                if (p >= 0) {
+                    int k = edgeCorridor[p];
+                    if (k >= 0) { for (int x = corridorStart[k + 1] - 1; x >= corridorStart[k]; x--) out.add(corridorCells[x]); }
+                    else { k = ~k; for (int x = corridorStart[k]; x < corridorStart[k + 1]; x++) out.add(corridorCells[x]); }
+                    u = edgeFrom[p];
+                    continue;
+                }
+                if (p != START_NODE) {
+                    int k = ~owner[start], i = slot[start];
+                    if (p == VIA_A) { for (int x = corridorStart[k]; x < i; x++) out.add(corridorCells[x]); }
+                    else { for (int x = corridorStart[k + 1] - 1; x > i; x--) out.add(corridorCells[x]); }
+                    out.add(start);
+                }
+                break;
+            }
+        }
+
+        int prev = -1;
+        for (int i = out.size() - 1; i >= 0; i--) {
+            int c = out.get(i);
+            ctx.open(c, 0, prev);
+            prev = c;
+        }
+        out.clear();
+    }
+}
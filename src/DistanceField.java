@@ -0,0 +1,100 @@
+import java.util.Arrays;
+
+// Medan jarak ke satu goal: dist[v] = cost path terpendek v -> goal tanpa bobot v sendiri
+// (jadi cost path lengkap dari start = w(start) + dist[start], sama seperti MazeSolver).
+// Dihitung sekali dengan Dijkstra terbalik dari goal; setelah itu path dari start mana pun
+// cukup "menuruni" medan: dari sel c pilih tetangga u dengan dist[u] + w(u) == dist[c].
+// Arah turunan itulah flow field-nya, jadi tidak perlu disimpan terpisah.
+//
+// Immutable setelah dibuat, aman dibagi antar thread. SearchEngine menyimpan beberapa medan
+// terakhir per (versi maze, goal) di cache LRU.
+public final class DistanceField {
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    final int version; // Versi maze saat medan dihitung
+    final int goal;
+    final int[] dist;
+    final SolverMetrics.Counters counters = new SolverMetrics.Counters(); // Dari compute() (hanya kalau metrics aktif)
+    private final Maze grid;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+
+    private DistanceField(Maze grid, int goal, int[] dist) {
+        this.grid = grid;
+        this.version = grid.version();
+        this.goal = goal;
+        this.dist = dist;
+        int cols = grid.getCols();
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+    }
+
+    public static DistanceField compute(Maze grid, int goal) {
+        long t0 = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        int n = grid.size();
+        int[] dist = new int[n];
+        Arrays.fill(dist, UNREACHABLE);
+        DistanceField field = new DistanceField(grid, goal, dist);
+        SolverMetrics.Counters counters = field.counters;
+        // Cukup heap dari context pool; status closed dibaca dari dist (entri basi dilewati)
+        SearchContext ctx = SearchContext.acquire(n);
+        try {
+            ctx.begin();
+            if (SolverMetrics.ENABLED) counters.resetNs = System.nanoTime() - t0;
+            LongMinHeap heap = ctx.heap;
+            dist[goal] = 0;
+            heap.add(LongMinHeap.pack(0, goal));
+            counters.push();
+            while (!heap.isEmpty()) {
+                counters.frontier(heap.size());
+                long top = heap.poll();
+                counters.pop();
+                int current = LongMinHeap.cell(top);
+                int currentCost = dist[current];
+                if (LongMinHeap.cost(top) > currentCost) {
+                    counters.stale();
+                    continue;
+                }
+                int newCost = currentCost + grid.weight(current);
+                for (int open = ~grid.walls(current) & MazeGrid.ALL_WALLS; open != 0; open &= open - 1) {
+                    int neighbor = current + field.offset[open & -open];
+                    counters.relax();
+                    if (newCost < dist[neighbor]) {
+                        dist[neighbor] = newCost;
+                        heap.add(LongMinHeap.pack(newCost, neighbor));
+                        counters.push();
+                    }
+                }
+            }
+        } finally {
+            ctx.release();
+        }
+        return field;
+    }
+
+    public int getGoal() { return goal; }
+    public boolean reachable(int cell) { return dist[cell] != UNREACHABLE; }
+
+    // Cost path cell -> goal termasuk bobot cell, -1 kalau tidak terjangkau
+    public int costFrom(int cell) { return reachable(cell) ? grid.weight(cell) + dist[cell] : -1; }
+
+    // Langkah berikutnya dari cell menuju goal (flow field), -1 di goal atau kalau tidak terjangkau
+    public int next(int cell) {
+        int d = dist[cell];
+        if (d == 0 || d == UNREACHABLE) return -1;
+        for (int open = ~grid.walls(cell) & MazeGrid.ALL_WALLS; open != 0; open &= open - 1) {
+            int u = cell + offset[open & -open];
+            if (dist[u] != UNREACHABLE && dist[u] + grid.weight(u) == d) return u;
+        }
+        throw new IllegalStateException("Distance field out of date for cell " + cell);
+    }
+
+    // Path start -> goal dengan menuruni medan, O(panjang path). Return cost seperti costFrom.
+    public int pathFrom(int start, IntList out) {
+        out.clear();
+        if (!reachable(start)) return -1;
+        for (int c = start; c != -1; c = next(c)) out.add(c);
+        return costFrom(start);
+    }
+}
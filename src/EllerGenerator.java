@@ -0,0 +1,148 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// Generator streaming (algoritma Eller): maze dibuat baris per baris dan tiap baris yang
+// sudah final langsung ditulis ke channel. State yang disimpan hanya O(cols), jadi jumlah
+// baris bisa jauh melebihi RAM (miliaran sel) dengan pemakaian memori tetap.
+//
+// Format baris: 2 bit per sel (bit 0 = dinding kanan, bit 1 = dinding bawah), 4 sel per byte,
+// sel kolom 0 di bit paling rendah, tiap baris dibulatkan ke byte utuh. Dinding atas/kiri
+// tidak ditulis karena sama dengan dinding bawah/kanan tetangganya.
+//
+// writeTo(Path) menulis file MazeFile lengkap (header + wall plane, tanpa terrain), jadi
+// hasilnya bisa langsung dibuka MappedMaze.open(...).
+//
+//   java EllerGenerator <rows> <cols> <seed> <output-file>
+public class EllerGenerator {
+    public static final int RIGHT_BIT = 1, BOTTOM_BIT = 2;
+
+    private final long rows;
+    private final int cols;
+    private final long seed;
+    private final Random random;
+    private long randomBits;
+    private int bitsLeft; // Satu nextLong() dipakai untuk 64 keputusan acak
+
+    // State satu baris: union-find atas kolom untuk set Eller
+    private final int[] parent, lastInSet, downRep;
+    private final boolean[] right, down;
+
+    public EllerGenerator(long rows, int cols, long seed) {
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.random = new Random(seed);
+        parent = new int[cols];
+        lastInSet = new int[cols];
+        downRep = new int[cols];
+        right = new boolean[cols];
+        down = new boolean[cols];
+    }
+
+    public static int bytesPerRow(int cols) { return (cols + 3) / 4; }
+
+    public void writeTo(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MazeFile.writeHeader(ch, rows, cols, seed, "Eller", 0);
+            ch.position(MazeFile.HEADER_SIZE);
+            writeTo(ch);
+        }
+    }
+
+    // Hanya baris-baris wall plane, tanpa header
+    public void writeTo(WritableByteChannel out) throws IOException {
+        // Buffer beberapa baris sekaligus supaya tidak ada syscall per baris kecil
+        int rowBytes = bytesPerRow(cols);
+        ByteBuffer buf = ByteBuffer.allocateDirect(Math.max(rowBytes, 1 << 20));
+        for (int c = 0; c < cols; c++) parent[c] = c;
+
+        for (long r = 0; r < rows; r++) {
+            boolean lastRow = r == rows - 1;
+            nextRow(lastRow);
+            if (buf.remaining() < rowBytes) flush(buf, out);
+            packRow(buf);
+        }
+        flush(buf, out);
+    }
+
+    private void nextRow(boolean lastRow) {
+        // 1. Gabung horizontal secara acak (baris terakhir: wajib gabung semua set yang beda)
+        for (int c = 0; c < cols; c++) right[c] = true;
+        for (int c = 0; c < cols - 1; c++) {
+            int a = find(c), b = find(c + 1);
+            if (a != b && (lastRow || nextBit())) {
+                right[c] = false;
+                parent[b] = a;
+            }
+        }
+        if (lastRow) {
+            for (int c = 0; c < cols; c++) down[c] = false;
+            return;
+        }
+
+        // 2. Sambung ke bawah: acak, tapi tiap set minimal punya satu jalan turun
+        for (int c = 0; c < cols; c++) lastInSet[find(c)] = c;
+        for (int c = 0; c < cols; c++) downRep[c] = -1;
+        for (int c = 0; c < cols; c++) {
+            int root = find(c);
+            down[c] = nextBit() || (c == lastInSet[root] && downRep[root] < 0);
+            if (down[c] && downRep[root] < 0) downRep[root] = c;
+        }
+
+        // 3. Set untuk baris berikutnya: sel yang turun mewarisi set-nya, sisanya set baru
+        for (int c = 0; c < cols; c++) {
+            int root = find(c);
+            lastInSet[c] = down[c] ? downRep[root] : c; // Pinjam array sebagai parent baru
+        }
+        System.arraycopy(lastInSet, 0, parent, 0, cols);
+    }
+
+    private void packRow(ByteBuffer buf) {
+        int packed = 0, shift = 0;
+        for (int c = 0; c < cols; c++) {
+            int bits = (right[c] ? RIGHT_BIT : 0) | (!down[c] ? BOTTOM_BIT : 0);
+            packed |= bits << shift;
+            shift += 2;
+            if (shift == 8) { buf.put((byte) packed); packed = 0; shift = 0; }
+        }
+        if (shift != 0) buf.put((byte) packed);
+    }
+
+    private static void flush(ByteBuffer buf, WritableByteChannel out) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    private boolean nextBit() {
+        if (bitsLeft == 0) { randomBits = random.nextLong(); bitsLeft = 64; }
+        bitsLeft--;
+        boolean bit = (randomBits & 1) != 0;
+        randomBits >>>= 1;
+        return bit;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) { parent[i] = parent[parent[i]]; i = parent[i]; }
+        return i;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: java EllerGenerator <rows> <cols> <seed> <output-file>");
+            System.exit(2);
+        }
+        long rows = Long.parseLong(args[0]);
+        int cols = Integer.parseInt(args[1]);
+        long t0 = System.nanoTime();
+        new EllerGenerator(rows, cols, Long.parseLong(args[2])).writeTo(Paths.get(args[3]));
+        double secs = (System.nanoTime() - t0) / 1e9;
+        System.err.printf("%d x %d cells in %.2f s (%.1f MB/s)%n", rows, cols, secs, rows * bytesPerRow(cols) / secs / 1e6);
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// Urutan sel yang diekspansi, untuk animasi MazePanel. Disimpan sebagai int[] yang tumbuh sampai
+// MEMORY_LIMIT entri; kalau lebih, isi memori di-encode delta (selisih dengan sel sebelumnya,
+// zigzag varint; sel berikutnya biasanya dekat jadi 1-3 byte) dan ditambahkan ke file temp.
+// Jadi memori tetap terbatas berapa pun panjang trace-nya.
+//
+// Bisa dimatikan (setEnabled(false)) untuk batch/benchmark: add() jadi no-op.
+// Dibaca berurutan lewat reader(). Tidak thread-safe.
+public class ExplorationTrace {
+    static final int MEMORY_LIMIT = 1 << 20; // Entri di memori sebelum spill (4 MB)
+    private static final int IO_BUFFER = 1 << 16;
+
+    private int[] data = new int[16];
+    private int size;          // Entri di memori (bagian akhir trace)
+    private int spilled;       // Entri di file (bagian awal trace)
+    private int lastSpilled;   // Sel terakhir di file, basis delta blok berikutnya
+    private long spilledBytes;
+    private Path spillFile;
+    private OutputStream spillOut;
+    private boolean enabled = true;
+
+    public boolean isEnabled() { return enabled; }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) clear();
+    }
+
+    public void add(int cell) {
+        if (!enabled) return;
+        if (size == data.length) {
+            if (size >= MEMORY_LIMIT) spill();
+            else data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[size++] = cell;
+    }
+
+    public int size() { return spilled + size; }
+    public boolean isEmpty() { return size() == 0; }
+    boolean isSpilled() { return spilled > 0; }
+
+    // Memori yang dipegang (array tidak pernah mengecil, jadi ini juga puncaknya) + ukuran file spill
+    public long memoryBytes() { return 4L * data.length; }
+    public long spilledBytes() { return spilledBytes; }
+
+    public void clear() {
+        size = 0;
+        spilled = 0;
+        lastSpilled = 0;
+        spilledBytes = 0;
+        if (spillFile != null) {
+            try {
+                spillOut.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                // File temp, gagal hapus tidak fatal (deleteOnExit masih berlaku)
+            }
+            spillFile = null;
+            spillOut = null;
+        }
+    }
+
+    private void spill() {
+        try {
+            if (spillFile == null) {
+                spillFile = Files.createTempFile("maze-trace", ".bin");
+                spillFile.toFile().deleteOnExit();
+                spillOut = new BufferedOutputStream(Files.newOutputStream(spillFile), IO_BUFFER);
+            }
+            int prev = lastSpilled;
+            for (int i = 0; i < size; i++) {
+                int d = data[i] - prev;
+                prev = data[i];
+                int z = (d << 1) ^ (d >> 31);
+                while ((z & ~0x7F) != 0) {
+                    spillOut.write((z & 0x7F) | 0x80);
+                    z >>>= 7;
+                    spilledBytes++;
+                }
+                spillOut.write(z);
+                spilledBytes++;
+            }
+            lastSpilled = prev;
+            spilled += size;
+            size = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill exploration trace", e);
+        }
+    }
+
+    // Pembaca berurutan dari awal trace. Trace tidak boleh diubah selama reader dipakai.
+    public Reader reader() {
+        try {
+            if (spillOut != null) spillOut.flush();
+            return new Reader(spilled > 0 ? new BufferedInputStream(Files.newInputStream(spillFile), IO_BUFFER) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read exploration trace", e);
+        }
+    }
+
+    public final class Reader implements Closeable {
+        private InputStream in;
+        private int fromFile, index, prev;
+
+        private Reader(InputStream in) { this.in = in; }
+
+        public boolean hasNext() { return fromFile < spilled || index < size; }
+
+        public int next() {
+            if (fromFile < spilled) {
+                fromFile++;
+                prev += decode();
+                if (fromFile == spilled) close();
+                return prev;
+            }
+            if (index >= size) throw new NoSuchElementException();
+            return data[index++];
+        }
+
+        private int decode() {
+            try {
+                int z = 0;
+                for (int shift = 0; ; shift += 7) {
+                    int b = in.read();
+                    if (b < 0) throw new IOException("Truncated trace file");
+                    z |= (b & 0x7F) << shift;
+                    if (b < 0x80) break;
+                }
+                return (z >>> 1) ^ -(z & 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read exploration trace", e);
+            }
+        }
+
+        @Override public void close() {
+            if (in == null) return;
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Hanya baca, abaikan
+            }
+            in = null;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+// Planner inkremental (LPA*, berakar di start) untuk maze yang diedit interaktif.
+// State pencarian (g, rhs, antrian) disimpan di antara plan(), jadi setelah dinding dibuka,
+// terrain dicat ulang, atau goal dipindah, hanya bagian pohon shortest-path yang terdampak
+// yang diperbaiki.
+//
+//   g(v)   : cost start -> v hasil ekspansi terakhir
+//   rhs(v) : min g(u) + w(v) atas tetangga terbuka u (lookahead satu langkah)
+//   key(v) : [min(g, rhs) + h(v) + km ; min(g, rhs)], dikemas jadi satu long
+//
+// Perubahan maze dideteksi dari snapshot dinding/terrain (sama seperti ClusterGraph): sel yang
+// byte-nya berubah cukup di-updateVertex, karena membuka dinding mengubah byte kedua sel dan
+// mengganti terrain hanya mengubah cost masuk ke sel itu. Goal pindah memakai trik km D* Lite
+// (h Manhattan konsisten), start pindah = reset penuh.
+//
+// Tidak thread-safe: satu planner untuk satu pemakai (mis. UI). plan() bisa dibatalkan lewat
+// interrupt thread; tiap iterasi selesai utuh, jadi plan() berikutnya melanjutkan dari situ.
+public class IncrementalPlanner {
+    private static final int INF = Integer.MAX_VALUE;
+
+    private final Maze grid;
+    private final int n, cols;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+    private final int[] g, rhs;
+    private final IndexedLongHeap queue;
+    private final byte[] wallSnapshot, terrainSnapshot;
+    private int snapshotVersion;
+    private int start, goal, km;
+
+    private final ExplorationTrace trace = new ExplorationTrace();
+    private int expanded, changedCells;
+    private SearchContext.Progress progress;
+    final SolverMetrics.Counters counters = new SolverMetrics.Counters(); // Dari plan() terakhir
+
+    public IncrementalPlanner(Maze grid, int start, int goal) {
+        this.grid = grid;
+        this.n = grid.size();
+        this.cols = grid.getCols();
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+        g = new int[n];
+        rhs = new int[n];
+        queue = new IndexedLongHeap(n);
+        wallSnapshot = new byte[n];
+        terrainSnapshot = new byte[n];
+        this.start = start;
+        this.goal = goal;
+        reset();
+    }
+
+    public Maze getGrid() { return grid; }
+    public int getStart() { return start; }
+    public int getGoal() { return goal; }
+
+    // Trace & jumlah ekspansi dari plan() terakhir
+    public ExplorationTrace getTrace() { return trace; }
+    public int getExpanded() { return expanded; }
+    public int getChangedCells() { return changedCells; }
+    public void setProgress(SearchContext.Progress progress) { this.progress = progress; }
+
+    public void setStart(int start) {
+        if (start == this.start) return;
+        this.start = start;
+        reset();
+    }
+
+    public void setGoal(int goal) {
+        km += manhattan(this.goal, goal);
+        this.goal = goal;
+    }
+
+    // Buang semua state dan mulai dari nol (dipanggil juga kalau maze berubah terlalu banyak)
+    public void reset() {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        queue.clear();
+        km = 0;
+        rhs[start] = 0;
+        queue.update(start, key(start));
+        for (int c = 0; c < n; c++) {
+            wallSnapshot[c] = (byte) grid.walls(c);
+            terrainSnapshot[c] = (byte) grid.terrain(c);
+        }
+        snapshotVersion = grid.version();
+    }
+
+    // Sinkronkan dengan perubahan maze lalu perbaiki shortest path. true kalau goal terjangkau.
+    public boolean plan() {
+        long t0 = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        counters.clear();
+        trace.clear();
+        expanded = 0;
+        changedCells = 0;
+        if (grid.version() != snapshotVersion) applyChanges();
+        if (SolverMetrics.ENABLED) counters.resetNs = System.nanoTime() - t0; // Sinkron snapshot = "reset" LPA*
+        computeShortestPath();
+        return g[goal] != INF;
+    }
+
+    private void applyChanges() {
+        snapshotVersion = grid.version();
+        IntList changed = new IntList();
+        for (int c = 0; c < n; c++) {
+            byte w = (byte) grid.walls(c), t = (byte) grid.terrain(c);
+            if (w != wallSnapshot[c] || t != terrainSnapshot[c]) {
+                wallSnapshot[c] = w;
+                terrainSnapshot[c] = t;
+                changed.add(c);
+            }
+        }
+        changedCells = changed.size();
+        // Maze di-generate ulang dsb: mulai dari nol lebih murah daripada repair
+        if (changedCells > n / 8) {
+            reset();
+            return;
+        }
+        for (int i = 0; i < changed.size(); i++) updateVertex(changed.get(i));
+    }
+
+    private int openDirs(int c) { return ~grid.walls(c) & MazeGrid.ALL_WALLS; }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    private long key(int v) {
+        int m = Math.min(g[v], rhs[v]);
+        if (m == INF) return Long.MAX_VALUE;
+        return ((long) (m + manhattan(v, goal) + km) << 32) | m;
+    }
+
+    private void updateVertex(int v) {
+        if (v != start) {
+            int best = INF;
+            for (int open = openDirs(v); open != 0; open &= open - 1) {
+                int u = v + offset[open & -open];
+                if (g[u] < best) best = g[u];
+            }
+            rhs[v] = best == INF ? INF : best + grid.weight(v);
+        }
+        if (g[v] != rhs[v]) {
+            queue.update(v, key(v));
+            counters.push();
+        } else {
+            queue.remove(v);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!queue.isEmpty() && (queue.peekKey() < key(goal) || rhs[goal] != g[goal])) {
+            int u = queue.peek();
+            counters.pop();
+            counters.frontier(queue.size());
+            long oldKey = queue.peekKey(), newKey = key(u);
+            if (oldKey < newKey) {
+                queue.update(u, newKey); // Key basi karena km naik
+                counters.stale();
+                continue;
+            }
+            trace.add(u);
+            if ((++expanded & (SearchContext.CHECK_INTERVAL - 1)) == 0) {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException("Planning cancelled");
+                if (progress != null) progress.report(expanded, queue.size());
+            }
+            if (g[u] > rhs[u]) {
+                // Overconsistent: turunkan g, tetangga hanya bisa membaik lewat u
+                g[u] = rhs[u];
+                queue.remove(u);
+                for (int open = openDirs(u); open != 0; open &= open - 1) {
+                    int s = u + offset[open & -open];
+                    int via = g[u] + grid.weight(s);
+                    counters.relax();
+                    if (s != start && via < rhs[s]) {
+                        rhs[s] = via;
+                        queue.update(s, key(s));
+                        counters.push();
+                    }
+                }
+            } else {
+                // Underconsistent: g jadi tak hingga, hitung ulang u dan tetangga yang bergantung padanya
+                int oldG = g[u];
+                g[u] = INF;
+                updateVertex(u);
+                for (int open = openDirs(u); open != 0; open &= open - 1) {
+                    int s = u + offset[open & -open];
+                    counters.relax();
+                    if (s != start && rhs[s] == oldG + grid.weight(s)) updateVertex(s);
+                }
+            }
+        }
+    }
+
+    // Path start -> goal (ikuti tetangga dengan g terkecil mundur dari goal). Mengembalikan cost
+    // path termasuk bobot sel start (sama seperti MazeSolver), atau -1 kalau tidak ada path.
+    public int pathTo(IntList out) {
+        out.clear();
+        if (g[goal] == INF) return -1;
+        int cost = grid.weight(start);
+        for (int c = goal; c != start; ) {
+            out.add(c);
+            cost += grid.weight(c);
+            int best = -1;
+            for (int open = openDirs(c); open != 0; open &= open - 1) {
+                int u = c + offset[open & -open];
+                if (best < 0 || g[u] < g[best]) best = u;
+            }
+            c = best;
+            if (out.size() > n) throw new IllegalStateException("Planner state inconsistent");
+        }
+        out.add(start);
+        out.reverse();
+        return cost;
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+// Heap 4-ary terindeks (posisi tiap sel dicatat), key-nya long dan boleh naik, turun,
+// atau dihapus dari tengah. Dipakai IncrementalPlanner untuk key LPA* [k1; k2] = (k1 << 32) | k2.
+public class IndexedLongHeap {
+    private static final int D = 4;
+
+    private final int[] heap;  // isi: index sel
+    private final int[] pos;   // posisi sel di heap, -1 = tidak ada
+    private final long[] key;
+    private int size;
+
+    public IndexedLongHeap(int cells) {
+        heap = new int[cells];
+        pos = new int[cells];
+        key = new long[cells];
+        Arrays.fill(pos, -1);
+    }
+
+    public boolean contains(int cell) { return pos[cell] >= 0; }
+
+    // Insert, atau ganti key kalau sudah ada (arah naik/turun bebas)
+    public void update(int cell, long k) {
+        int i = pos[cell];
+        if (i < 0) {
+            key[cell] = k;
+            siftUp(cell, size++);
+            return;
+        }
+        long old = key[cell];
+        key[cell] = k;
+        if (k < old) siftUp(cell, i);
+        else siftDown(cell, i);
+    }
+
+    public void remove(int cell) {
+        int i = pos[cell];
+        if (i < 0) return;
+        pos[cell] = -1;
+        int last = heap[--size];
+        if (i == size) return;
+        if (key[last] < key[cell]) siftUp(last, i);
+        else siftDown(last, i);
+    }
+
+    public int peek() { return heap[0]; }
+    public long peekKey() { return key[heap[0]]; }
+
+    public int poll() {
+        int min = heap[0];
+        remove(min);
+        return min;
+    }
+
+    private void siftUp(int cell, int i) {
+        long k = key[cell];
+        while (i > 0) {
+            int p = (i - 1) / D;
+            int pc = heap[p];
+            if (key[pc] <= k) break;
+            heap[i] = pc;
+            pos[pc] = i;
+            i = p;
+        }
+        heap[i] = cell;
+        pos[cell] = i;
+    }
+
+    private void siftDown(int cell, int i) {
+        long k = key[cell];
+        while (true) {
+            int first = i * D + 1;
+            if (first >= size) break;
+            int best = first;
+            int end = Math.min(first + D, size);
+            for (int c = first + 1; c < end; c++) if (key[heap[c]] < key[heap[best]]) best = c;
+            if (key[heap[best]] >= k) break;
+            heap[i] = heap[best];
+            pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = cell;
+        pos[cell] = i;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+}
@@ -0,0 +1,34 @@
+import java.util.Arrays;
+
+// List int yang bisa tumbuh, pengganti List<Cell>/List<Integer> tanpa boxing.
+public class IntList {
+    private int[] data;
+    private int size;
+
+    public IntList() { this(16); }
+    public IntList(int capacity) { data = new int[Math.max(capacity, 1)]; }
+
+    public void add(int value) {
+        if (size == data.length) data = Arrays.copyOf(data, data.length * 2);
+        data[size++] = value;
+    }
+
+    public int get(int i) { return data[i]; }
+    public int pop() { return data[--size]; } // Dipakai sebagai stack
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+
+    public void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) { int t = data[i]; data[i] = data[j]; data[j] = t; }
+    }
+
+    public int[] toArray() { return Arrays.copyOf(data, size); }
+
+    public IntList copy() {
+        IntList c = new IntList(size);
+        System.arraycopy(data, 0, c.data, 0, size);
+        c.size = size;
+        return c;
+    }
+}
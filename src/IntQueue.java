@@ -0,0 +1,35 @@
+// Antrian FIFO int berbasis ring buffer (pengganti LinkedList<Cell> di BFS).
+public class IntQueue {
+    private int[] data;
+    private int head, size;
+
+    public IntQueue(int capacity) { data = new int[Math.max(capacity, 1)]; }
+
+    public void add(int value) {
+        if (size == data.length) grow();
+        int tail = head + size;
+        if (tail >= data.length) tail -= data.length;
+        data[tail] = value;
+        size++;
+    }
+
+    public int poll() {
+        int value = data[head];
+        if (++head == data.length) head = 0;
+        size--;
+        return value;
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { head = 0; size = 0; }
+
+    private void grow() {
+        int[] bigger = new int[data.length * 2];
+        int first = Math.min(size, data.length - head);
+        System.arraycopy(data, head, bigger, 0, first);
+        System.arraycopy(data, 0, bigger, first, size - first);
+        data = bigger;
+        head = 0;
+    }
+}
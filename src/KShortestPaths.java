@@ -0,0 +1,191 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// K shortest loopless paths (Yen, dengan optimasi Lawler: spur hanya dari titik deviasi path
+// sebelumnya ke belakang). Cost path = jumlah bobot sel termasuk start, sama seperti MazeSolver.
+//
+// Semua spur search berbagi pohon shortest-path terbalik dari goal, yaitu DistanceField goal
+// (dist / next), yang di-cache engine sehingga klik alternatif berikutnya tidak menghitung ulang:
+//   - dist(v) jadi heuristik A* yang tepat: node/sisi yang diblokir hanya bisa menaikkan jarak,
+//     jadi tetap admissible dan konsisten
+//   - begitu spur search mengeluarkan node v yang path pohonnya ke goal tidak melewati root,
+//     path spur langsung selesai: prefix sampai v + path pohon (cost = key v, pasti minimum)
+// Status "path pohon v aman" di-memo per spur di context terpisah, jadi tiap sel paling banyak
+// ditelusuri sekali per spur.
+final class KShortestPaths {
+    static final class Candidate implements Comparable<Candidate> {
+        final int[] cells;
+        final int cost, deviation; // deviation = index spur node tempat path ini bercabang
+
+        Candidate(int[] cells, int cost, int deviation) {
+            this.cells = cells;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        @Override public int compareTo(Candidate o) {
+            return cost != o.cost ? Integer.compare(cost, o.cost) : Integer.compare(cells.length, o.cells.length);
+        }
+        @Override public boolean equals(Object o) { return o instanceof Candidate && Arrays.equals(cells, ((Candidate) o).cells); }
+        @Override public int hashCode() { return Arrays.hashCode(cells); }
+    }
+
+    private static final int SAFE = 1, BLOCKED = 0;
+
+    private final Maze grid;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+    private final DistanceField tree;
+    private final SearchContext spur, memo;
+    private final IntList scratch = new IntList();
+    private final IntList blockedNext = new IntList();
+    private final IntList walk = new IntList();
+    int expanded, spurSearches;
+    final SolverMetrics.Counters counters = new SolverMetrics.Counters(); // Jumlah semua spur search
+
+    // Context dipinjam dari pool; panggil release() setelah selesai
+    // progress boleh null; lewat spur context juga dicek interrupt thread (CancellationException)
+    KShortestPaths(Maze grid, DistanceField tree, SearchContext.Progress progress) {
+        this.grid = grid;
+        this.tree = tree;
+        int cols = grid.getCols();
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+        spur = SearchContext.acquire(grid.size());
+        memo = spur.partner();
+        spur.progress = progress;
+    }
+
+    void release() {
+        spur.release();
+    }
+
+    private int openDirs(int c) { return ~grid.walls(c) & MazeGrid.ALL_WALLS; }
+
+    List<Candidate> find(int start, int end, int k) {
+        List<Candidate> accepted = new ArrayList<>();
+        if (k <= 0) return accepted;
+        if (tree.goal != end) throw new IllegalArgumentException("Distance field is for goal " + tree.goal + ", not " + end);
+        int cost = tree.pathFrom(start, scratch);
+        if (cost < 0) return accepted;
+        accepted.add(new Candidate(scratch.toArray(), cost, 0));
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        HashSet<Candidate> seen = new HashSet<>(accepted);
+        while (accepted.size() < k) {
+            Candidate prev = accepted.get(accepted.size() - 1);
+            int[] path = prev.cells;
+            // Panjang prefix yang sama dengan prev untuk tiap path yang sudah diterima
+            int[] common = new int[accepted.size()];
+            for (int a = 0; a < accepted.size(); a++) {
+                int[] other = accepted.get(a).cells;
+                int l = 0, max = Math.min(other.length, path.length);
+                while (l < max && other[l] == path[l]) l++;
+                common[a] = l;
+            }
+
+            int rootCost = 0;
+            for (int i = 0; i < prev.deviation; i++) rootCost += grid.weight(path[i]);
+            for (int i = prev.deviation; i < path.length - 1; i++) {
+                rootCost += grid.weight(path[i]);
+                // Sisi spur -> next yang sudah dipakai path lain dengan root yang sama diblokir
+                blockedNext.clear();
+                for (int a = 0; a < accepted.size(); a++) {
+                    int[] other = accepted.get(a).cells;
+                    if (common[a] > i && other.length > i + 1) blockedNext.add(other[i + 1]);
+                }
+                int spurCost = spurSearch(path, i);
+                if (spurCost < 0) continue;
+
+                int[] cells = new int[i + scratch.size()];
+                System.arraycopy(path, 0, cells, 0, i);
+                for (int j = 0; j < scratch.size(); j++) cells[i + j] = scratch.get(j);
+                Candidate candidate = new Candidate(cells, rootCost + spurCost, i);
+                if (seen.add(candidate)) candidates.add(candidate);
+            }
+            if (candidates.isEmpty()) break;
+            accepted.add(candidates.poll());
+        }
+        return accepted;
+    }
+
+    // A* dari path[i] ke goal tanpa melewati path[0..i-1] dan sisi di blockedNext.
+    // Hasil (spur node sampai goal) di scratch; return cost tanpa bobot spur node, -1 kalau buntu.
+    private int spurSearch(int[] path, int i) {
+        spurSearches++;
+        int from = path[i];
+        long t0 = SolverMetrics.ENABLED ? System.nanoTime() : 0;
+        memo.begin();
+        spur.begin();
+        for (int j = 0; j <= i; j++) memo.open(path[j], BLOCKED, -1);
+        for (int j = 0; j < i; j++) spur.close(path[j]);
+        if (SolverMetrics.ENABLED) counters.resetNs += System.nanoTime() - t0;
+
+        spur.open(from, 0, -1);
+        spur.heap.add(LongMinHeap.pack(tree.dist[from], from));
+        counters.push();
+        while (!spur.heap.isEmpty()) {
+            counters.frontier(spur.heap.size());
+            int current = LongMinHeap.cell(spur.heap.poll());
+            counters.pop();
+            if (spur.isClosed(current)) {
+                counters.stale();
+                continue;
+            }
+            spur.close(current);
+            if ((++expanded & (SearchContext.CHECK_INTERVAL - 1)) == 0) spur.checkpoint(expanded, spur.heap.size());
+
+            // Ekor lewat pohon: untuk spur node sendiri cek sisi pertamanya dulu
+            int tail = current;
+            if (current == from) {
+                tail = tree.next(from);
+                if (blocked(tail)) tail = -1;
+            }
+            if (tail != -1 && treeSafe(tail)) {
+                int cost = spur.gCost[current] + tree.dist[current];
+                scratch.clear();
+                for (int c = current; c != -1; c = spur.parentOf(c)) scratch.add(c);
+                scratch.reverse();
+                for (int c = tree.next(current); c != -1; c = tree.next(c)) scratch.add(c);
+                return cost;
+            }
+
+            int currentCost = spur.gCost[current];
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                counters.relax();
+                if (spur.isClosed(neighbor) || !tree.reachable(neighbor)) continue;
+                if (current == from && blocked(neighbor)) continue;
+                int newCost = currentCost + grid.weight(neighbor);
+                if (newCost < spur.g(neighbor)) {
+                    spur.open(neighbor, newCost, current);
+                    spur.heap.add(LongMinHeap.pack(newCost + tree.dist[neighbor], neighbor));
+                    counters.push();
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean blocked(int next) {
+        for (int j = 0; j < blockedNext.size(); j++) if (blockedNext.get(j) == next) return true;
+        return false;
+    }
+
+    // Path pohon dari v ke goal tidak menyentuh root? Hasil di-memo untuk semua sel yang dilewati.
+    private boolean treeSafe(int v) {
+        walk.clear();
+        int c = v;
+        while (c != -1 && !memo.isTouched(c)) {
+            walk.add(c);
+            c = tree.next(c);
+        }
+        int result = c == -1 ? SAFE : memo.g(c);
+        while (!walk.isEmpty()) memo.open(walk.pop(), result, -1);
+        return result == SAFE;
+    }
+}
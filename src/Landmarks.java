@@ -0,0 +1,108 @@
+import java.util.stream.IntStream;
+
+// Tabel jarak landmark untuk heuristik ALT (A*, Landmarks, Triangle inequality).
+//
+// D_i(x) = cost landmark i -> x (bobot sel setelah landmark sampai x). Karena cost masuk ke sel
+// = bobot sel itu, arah sebaliknya bisa diturunkan: cost x -> L = D(x) - w(x) + w(L). Jadi satu
+// tabel per landmark cukup, dan batas bawah cost v -> t adalah
+//
+//   max_i( D_i(t) - D_i(v),  D_i(v) - w(v) - D_i(t) + w(t),  0 )
+//
+// Tabel disimpan interleaved (dist[x * count + i]) supaya semua landmark satu sel ada di satu
+// cache line. Landmark dipilih merata di sepanjang keliling maze, lalu tiap tabel dihitung
+// paralel dengan Dijkstra penuh. Bisa ikut disimpan di file lewat MazeFile.
+public final class Landmarks {
+    static final int DEFAULT_COUNT = 8;
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    final int version; // Versi maze saat tabel dihitung
+    final int[] cells;
+    final int[] dist;
+    final int count;
+
+    Landmarks(int version, int[] cells, int[] dist) {
+        this.version = version;
+        this.cells = cells;
+        this.dist = dist;
+        this.count = cells.length;
+    }
+
+    // Tabel yang sama untuk maze lain dengan isi identik (mis. hasil MazeFile.toGrid)
+    Landmarks forVersion(int version) { return new Landmarks(version, cells, dist); }
+
+    public int count() { return count; }
+
+    public static Landmarks compute(Maze grid, int count) {
+        int[] cells = perimeterCells(grid, count);
+        int k = cells.length, n = grid.size();
+        if ((long) n * k > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Maze too large for landmark tables: " + n + " cells");
+        int[] dist = new int[n * k];
+        int cols = grid.getCols();
+        int[] offset = new int[MazeGrid.ALL_WALLS + 1];
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+
+        // Tiap landmark menulis kolom miliknya sendiri di tabel interleaved
+        IntStream.range(0, k).parallel().forEach(i -> {
+            SearchContext s = SearchContext.acquire(n);
+            try {
+                s.begin();
+                s.open(cells[i], 0, -1);
+                s.heap.add(LongMinHeap.pack(0, cells[i]));
+                while (!s.heap.isEmpty()) {
+                    int current = LongMinHeap.cell(s.heap.poll());
+                    if (s.isClosed(current)) continue;
+                    s.close(current);
+                    int currentCost = s.gCost[current];
+                    for (int open = ~grid.walls(current) & MazeGrid.ALL_WALLS; open != 0; open &= open - 1) {
+                        int neighbor = current + offset[open & -open];
+                        if (s.isClosed(neighbor)) continue;
+                        int newCost = currentCost + grid.weight(neighbor);
+                        if (newCost < s.g(neighbor)) {
+                            s.open(neighbor, newCost, current);
+                            s.heap.add(LongMinHeap.pack(newCost, neighbor));
+                        }
+                    }
+                }
+                for (int x = 0; x < n; x++) dist[x * k + i] = s.g(x); // Tidak tersentuh = UNREACHABLE
+            } finally {
+                s.release();
+            }
+        });
+        return new Landmarks(grid.version(), cells, dist);
+    }
+
+    // 'count' sel dengan jarak sama di sepanjang keliling (searah jarum jam dari pojok kiri atas)
+    private static int[] perimeterCells(Maze grid, int count) {
+        int rows = grid.getRows(), cols = grid.getCols();
+        int perimeter = rows == 1 || cols == 1 ? rows * cols : 2 * (rows + cols) - 4;
+        IntList cells = new IntList();
+        for (int i = 0; i < count; i++) {
+            int p = (int) ((long) i * perimeter / count), cell;
+            if (rows == 1 || cols == 1) cell = p;
+            else if (p < cols) cell = p;                                             // Atas
+            else if ((p -= cols) < rows - 1) cell = (p + 1) * cols + cols - 1;       // Kanan
+            else if ((p -= rows - 1) < cols - 1) cell = (rows - 1) * cols + cols - 2 - p; // Bawah
+            else cell = (rows - 2 - (p - (cols - 1))) * cols;                        // Kiri
+            boolean duplicate = false;
+            for (int j = 0; j < cells.size(); j++) duplicate |= cells.get(j) == cell;
+            if (!duplicate) cells.add(cell);
+        }
+        return cells.toArray();
+    }
+
+    // Batas bawah cost v -> t; wv/wt = bobot sel v dan t
+    int lowerBound(int v, int wv, int t, int wt) {
+        int best = 0, bv = v * count, bt = t * count;
+        for (int i = 0; i < count; i++) {
+            int dv = dist[bv + i], dt = dist[bt + i];
+            if (dv == UNREACHABLE || dt == UNREACHABLE) continue;
+            int forward = dt - dv, backward = dv - wv - dt + wt;
+            if (forward > best) best = forward;
+            if (backward > best) best = backward;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,46 @@
+import java.util.Arrays;
+
+// Binary min-heap untuk key long tanpa boxing.
+// Solver mengemas (cost << 32) | cell ke satu long, jadi urutan heap = urutan cost.
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int capacity) { heap = new long[Math.max(capacity, 1)]; }
+
+    public void add(long key) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, heap.length * 2);
+        int i = size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= key) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = key;
+    }
+
+    public long poll() {
+        long min = heap[0];
+        long last = heap[--size];
+        int i = 0, half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return min;
+    }
+
+    public long peek() { return heap[0]; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+
+    public static long pack(int cost, int cell) { return ((long) cost << 32) | cell; }
+    public static int cell(long key) { return (int) key; }
+    public static int cost(long key) { return (int) (key >>> 32); }
+}
@@ -1,15 +1,124 @@
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+// Mode batch headless: generate N maze lalu solve dengan algoritma pilihan,
+// statistik tiap maze ditulis per baris (CSV atau JSON lines) ke stdout.
+// Tidak menyentuh AWT/Swing/SoundManager sama sekali, aman untuk build server.
+//
+// Contoh:
+//   java Main --count 100 --generator kruskal --rows 300 --cols 300 --loops 0.05 --terrain
+//             --seed 7 --algorithms BFS,A* --format json --threads 8
+//
+// Dengan --threads > 1 baris output keluar sesuai urutan selesai, bukan urutan maze.
 public class Main {
+    int count = 1;
+    String generator = "prim";
+    int tileSize = 64; // Untuk --generator tiled
+    int rows = 20, cols = 20;
+    double loops = 0;
+    boolean terrain = false;
+    long seed = System.nanoTime();
+    String[] algorithms = {"BFS", "DFS", "Dijkstra", "A*"};
+    String format = "csv";
+    int threads = Runtime.getRuntime().availableProcessors();
+
     public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+        Main batch = new Main();
+        try {
+            batch.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        }
+        batch.run(System.out);
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--terrain": terrain = true; continue;
+                case "--help": printUsage(System.out); System.exit(0);
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+            String v = args[++i];
+            switch (arg) {
+                case "--count": count = positive(arg, v); break;
+                case "--generator": generator = v.toLowerCase(Locale.ROOT); break;
+                case "--tile": tileSize = positive(arg, v); break;
+                case "--rows": rows = positive(arg, v); break;
+                case "--cols": cols = positive(arg, v); break;
+                case "--size": rows = cols = positive(arg, v); break;
+                case "--loops": loops = probability(arg, v); break;
+                case "--seed": seed = Long.parseLong(v); break;
+                case "--algorithms": algorithms = v.split(","); break;
+                case "--format": format = v.toLowerCase(Locale.ROOT); break;
+                case "--threads": threads = positive(arg, v); break;
+                default: throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if ((long) rows * cols > Integer.MAX_VALUE) throw new IllegalArgumentException("Maze too large: " + rows + " x " + cols);
+        if (!Arrays.asList("prim", "kruskal", "tiled").contains(generator)) throw new IllegalArgumentException("Unknown generator: " + generator);
+        if (!format.equals("csv") && !format.equals("json")) throw new IllegalArgumentException("Unknown format: " + format);
+        for (String algo : algorithms) {
+            if (!Arrays.asList(MazeSolver.ALGORITHMS).contains(algo)) throw new IllegalArgumentException("Unknown algorithm: " + algo);
+        }
+    }
+
+    // NumberFormatException juga IllegalArgumentException, jadi ikut ke pesan usage
+    private static int positive(String arg, String value) {
+        int v = Integer.parseInt(value);
+        if (v <= 0) throw new IllegalArgumentException(arg + " must be > 0: " + v);
+        return v;
+    }
+
+    // !(>= && <=) supaya NaN juga ditolak
+    private static double probability(String arg, String value) {
+        double p = Double.parseDouble(value);
+        if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException(arg + " must be in [0, 1]: " + p);
+        return p;
+    }
+
+    static void printUsage(PrintStream out) {
+        out.println("Usage: java Main [--count N] [--generator prim|kruskal|tiled] [--tile T]");
+        out.println("                 [--rows R --cols C | --size N]");
+        out.println("                 [--loops P] [--terrain] [--seed S] [--algorithms BFS,DFS,Dijkstra,A*,...]");
+        out.println("                 [--format csv|json] [--threads N]");
+    }
+
+    void run(PrintStream out) {
+        if (format.equals("csv")) out.println("maze,seed,rows,cols,algorithm,found,cells_explored,path_length,path_cost,time_us");
+        // Tiap maze punya seed sendiri (seed + index), bisa direproduksi satu-satu
+        BatchSolver batch = new BatchSolver(Math.max(1, threads));
+        batch.run(count, seed, this::generate, algorithms, r -> {
+            synchronized (out) { printRow(out, r); }
+        });
+        out.flush();
+        batch.getSummaries().forEach((algo, s) -> System.err.printf(Locale.ROOT,
+                "%s: %d solves, %d found, mean explored %.1f, mean time %.1f us%n",
+                algo, s.solves(), s.found(), s.meanCellsExplored(), s.meanTimeUs()));
+    }
+
+    MazeGrid generate(long mazeSeed) {
+        MazeGenerator gen = new MazeGenerator(rows, cols, mazeSeed);
+        if (generator.equals("prim")) gen.generatePrim();
+        else if (generator.equals("tiled")) gen.generateTiled(tileSize);
+        else gen.generateKruskal();
+        if (loops > 0) gen.addLoops(loops);
+        if (terrain) gen.generateTerrain();
+        return gen.getGrid();
+    }
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    private void printRow(PrintStream out, BatchSolver.Result r) {
+        if (format.equals("csv")) {
+            out.println(r.maze + "," + r.seed + "," + rows + "," + cols + "," + r.algorithm + "," + r.found + ","
+                    + r.cellsExplored + "," + r.pathLength + "," + r.pathCost + "," + r.timeUs);
+        } else {
+            out.println("{\"maze\":" + r.maze + ",\"seed\":" + r.seed + ",\"rows\":" + rows + ",\"cols\":" + cols
+                    + ",\"algorithm\":\"" + r.algorithm + "\",\"found\":" + r.found + ",\"cellsExplored\":" + r.cellsExplored
+                    + ",\"pathLength\":" + r.pathLength + ",\"pathCost\":" + r.pathCost + ",\"timeUs\":" + r.timeUs + "}");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Maze yang dibaca langsung dari file MazeFile lewat memory mapping: buka file berukuran
+// gigabyte langsung selesai, dan solver membaca bit dinding/terrain dari page cache
+// tanpa membuat MazeGrid atau Cell. Read-only.
+//
+// File di-map per segmen 1 GB karena satu MappedByteBuffer dibatasi 2 GB.
+public class MappedMaze implements Maze, Closeable {
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final MazeFile header;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final int rows, cols, rowBytes;
+    private final long terrainOffset;
+    private final boolean hasTerrain;
+    private Landmarks landmarks; // Dibaca dari file saat pertama diminta
+
+    private MappedMaze(FileChannel channel, MazeFile header) throws IOException {
+        if (header.rows * header.cols > Integer.MAX_VALUE) {
+            throw new IOException("Maze too large for int cell indices: " + header.rows + " x " + header.cols);
+        }
+        this.channel = channel;
+        this.header = header;
+        this.rows = (int) header.rows;
+        this.cols = header.cols;
+        this.rowBytes = MazeFile.bytesPerRow(cols);
+        this.terrainOffset = header.terrainOffset();
+        this.hasTerrain = header.hasTerrain();
+
+        long size = header.landmarkOffset(); // Bagian landmark tidak di-map
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+        segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << SEGMENT_BITS, size - start));
+        }
+    }
+
+    public static MappedMaze open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedMaze(ch, MazeFile.readHeader(ch));
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    public MazeFile getHeader() { return header; }
+
+    private byte byteAt(long pos) { return segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK)); }
+
+    // 2 bit (kanan, bawah) milik sel (r, c) di wall plane
+    private int packedBits(int r, int c) {
+        return (byteAt(MazeFile.HEADER_SIZE + (long) r * rowBytes + (c >>> 2)) >>> ((c & 3) << 1)) & 3;
+    }
+
+    @Override public int getRows() { return rows; }
+    @Override public int getCols() { return cols; }
+
+    @Override
+    public int walls(int index) {
+        int r = index / cols, c = index % cols;
+        int own = packedBits(r, c);
+        int w = 0;
+        // Dinding luar selalu dipaksa: file rusak/buatan tidak boleh membuka jalan keluar grid
+        if (c == cols - 1 || (own & EllerGenerator.RIGHT_BIT) != 0) w |= MazeGrid.RIGHT;
+        if (r == rows - 1 || (own & EllerGenerator.BOTTOM_BIT) != 0) w |= MazeGrid.BOTTOM;
+        if (r == 0 || (packedBits(r - 1, c) & EllerGenerator.BOTTOM_BIT) != 0) w |= MazeGrid.TOP;
+        if (c == 0 || (packedBits(r, c - 1) & EllerGenerator.RIGHT_BIT) != 0) w |= MazeGrid.LEFT;
+        return w;
+    }
+
+    // Kode di luar 0..WATER (file rusak) di-clamp ke WATER; memvalidasi seluruh plane saat open
+    // berarti membaca seluruh file, padahal open harus instan
+    @Override
+    public int terrain(int index) {
+        return hasTerrain ? Math.min(byteAt(terrainOffset + index) & 0xFF, MazeGrid.WATER) : MazeGrid.DEFAULT;
+    }
+
+    @Override
+    public int weight(int index) { return MazeGrid.weightOf(terrain(index)); }
+
+    @Override
+    public synchronized Landmarks landmarks() {
+        if (landmarks == null && header.hasLandmarks()) {
+            try {
+                landmarks = MazeFile.readLandmarks(channel, header, version());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return landmarks;
+    }
+
+    @Override
+    public void close() throws IOException { channel.close(); }
+}
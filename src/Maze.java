@@ -0,0 +1,22 @@
+// Topologi maze yang dibaca solver: dinding (bit MazeGrid.TOP/RIGHT/BOTTOM/LEFT) dan bobot per sel.
+// MazeGrid menyimpannya di heap, MappedMaze langsung membaca file hasil MazeFile.
+public interface Maze {
+    int getRows();
+    int getCols();
+    int walls(int index);
+    int terrain(int index);
+    int weight(int index);
+
+    default int size() { return getRows() * getCols(); }
+    default int index(int row, int col) { return row * getCols() + col; }
+    default int row(int index) { return index / getCols(); }
+    default int col(int index) { return index % getCols(); }
+    default boolean hasWall(int index, int dir) { return (walls(index) & dir) != 0; }
+
+    // Berubah setiap kali dinding/terrain diubah; maze read-only cukup mengembalikan 0
+    default int version() { return 0; }
+
+    // Tabel landmark yang disimpan bersama maze (dari file atau hitungan sebelumnya), boleh null.
+    // Hanya berlaku kalau landmarks().version == version().
+    default Landmarks landmarks() { return null; }
+}
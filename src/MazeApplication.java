@@ -1,8 +1,22 @@
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
-import java.util.List;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class MazeApplication extends JFrame {
     // --- COLORS ---
@@ -15,19 +29,24 @@ public class MazeApplication extends JFrame {
     public static final Color WALL_COLOR = new Color(98, 114, 164);
 
     private MazePanel mazePanel;
-    private MazeGenerator generator;
     private MazeSolver solver;
+    private MazeGrid maze; // Maze yang sedang tampil (hasil generate atau load)
+    private long mazeSeed;
+    private String mazeGenerator;
 
     // Controls
     private JSpinner rowsSpinner, colsSpinner;
     private JComboBox<String> algoGenCombo, algoSolveCombo;
     private JCheckBox terrainCheck, loopCheck; // Loop Checkbox baru
+    private JCheckBox benchAllCheck;
     private JSlider speedSlider;
     private JLabel statExplored, statPathLen, statCost, statTime;
-    private JButton btnSolve, btnAlternative; // Tombol baru
+    private JButton btnGen, btnSave, btnLoad, btnSolve, btnAlternative, btnBenchmark, btnCancel;
+    private JProgressBar progressBar;
 
     // State
-    private List<Cell> primaryPath = new ArrayList<>();
+    private IntList primaryPath = new IntList();
+    private BackgroundTask<?> task; // Generate/solve yang sedang jalan di luar EDT, null = tidak ada
 
     public MazeApplication() {
         setTitle("Maze Solver: Multi-Path Edition");
@@ -35,11 +54,14 @@ public class MazeApplication extends JFrame {
         setLayout(new BorderLayout());
         getContentPane().setBackground(BG_COLOR);
 
-        generator = new MazeGenerator(20, 20);
+        MazeGenerator generator = new MazeGenerator(20, 20);
         generator.generatePrim();
-        solver = new MazeSolver(generator.getGrid());
+        maze = generator.getGrid();
+        mazeSeed = generator.getSeed();
+        mazeGenerator = generator.getAlgorithm();
+        solver = new MazeSolver(maze);
 
-        mazePanel = new MazePanel(generator.getGrid());
+        mazePanel = new MazePanel(maze);
         add(mazePanel, BorderLayout.CENTER);
 
         JPanel sidebar = createSidebar();
@@ -70,7 +92,7 @@ public class MazeApplication extends JFrame {
 
         // GENERATION
         addSectionHeader(sidebar, "GENERATION");
-        algoGenCombo = createDarkCombo(new String[]{"Prim's Algorithm", "Kruskal's Algorithm"});
+        algoGenCombo = createDarkCombo(new String[]{"Prim's Algorithm", "Kruskal's Algorithm", "Tiled Kruskal (Parallel)"});
         sidebar.add(algoGenCombo);
         sidebar.add(Box.createVerticalStrut(10));
 
@@ -83,18 +105,32 @@ public class MazeApplication extends JFrame {
         sidebar.add(loopCheck);
 
         sidebar.add(Box.createVerticalStrut(15));
-        JButton btnGen = createStyledButton("GENERATE MAZE", ACCENT_COLOR);
+        btnGen = createStyledButton("GENERATE MAZE", ACCENT_COLOR);
         btnGen.addActionListener(e -> generateMaze());
         sidebar.add(btnGen);
+        sidebar.add(Box.createVerticalStrut(8));
+
+        JPanel filePanel = new JPanel(new GridLayout(1, 2, 10, 0));
+        filePanel.setBackground(PANEL_COLOR);
+        filePanel.setMaximumSize(new Dimension(300, 40));
+        btnSave = createStyledButton("SAVE", WALL_COLOR);
+        btnSave.addActionListener(e -> saveMaze());
+        btnLoad = createStyledButton("LOAD", WALL_COLOR);
+        btnLoad.addActionListener(e -> loadMaze());
+        filePanel.add(btnSave);
+        filePanel.add(btnLoad);
+        sidebar.add(filePanel);
         sidebar.add(Box.createVerticalStrut(25));
 
         // SOLVER
         addSectionHeader(sidebar, "PATHFINDING");
-        algoSolveCombo = createDarkCombo(new String[]{"Dijkstra (Best)", "A* (Best)", "BFS", "DFS"});
+        algoSolveCombo = createDarkCombo(new String[]{"Dijkstra (Best)", "A* (Best)", "Dijkstra (Bucket Queue)", "A* (Bucket Queue)", "A* (Landmarks)", "BFS", "DFS",
+                "Bidirectional Dijkstra", "Bidirectional A*", "Bidirectional BFS", "Corridor Dijkstra", "Corridor A*", "HPA*",
+                MazeSolver.INCREMENTAL, MazeSolver.DISTANCE_FIELD});
         sidebar.add(algoSolveCombo);
         sidebar.add(Box.createVerticalStrut(15));
 
-        JLabel lblSpeed = new JLabel("Animation Speed");
+        JLabel lblSpeed = new JLabel("Animation Speed"); // Kiri ~30 detik, kanan ~0.5 detik total
         lblSpeed.setForeground(TEXT_COLOR);
         sidebar.add(lblSpeed);
         speedSlider = new JSlider(1, 100, 50);
@@ -115,6 +151,28 @@ public class MazeApplication extends JFrame {
         btnAlternative.setEnabled(false);
         btnAlternative.addActionListener(e -> solveAlternative());
         sidebar.add(btnAlternative);
+        sidebar.add(Box.createVerticalStrut(10));
+
+        // Benchmark: solve berulang (warmup + persentil) di maze yang tampil, tanpa animasi
+        btnBenchmark = createStyledButton("BENCHMARK", WALL_COLOR);
+        btnBenchmark.addActionListener(e -> benchmarkMaze());
+        sidebar.add(btnBenchmark);
+        benchAllCheck = new JCheckBox("Compare BFS / DFS / Dijkstra / A*");
+        styleCheckBox(benchAllCheck);
+        sidebar.add(benchAllCheck);
+        sidebar.add(Box.createVerticalStrut(10));
+
+        // Progres pekerjaan background; CANCEL menghentikan generate/solve/save/load atau melompati animasi
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("Idle");
+        progressBar.setMaximumSize(new Dimension(300, 22));
+        sidebar.add(progressBar);
+        sidebar.add(Box.createVerticalStrut(8));
+        btnCancel = createStyledButton("CANCEL", new Color(255, 85, 85));
+        btnCancel.setEnabled(false);
+        btnCancel.addActionListener(e -> cancel());
+        sidebar.add(btnCancel);
         sidebar.add(Box.createVerticalStrut(25));
 
         // STATS
@@ -138,71 +196,321 @@ public class MazeApplication extends JFrame {
     }
 
     private void generateMaze() {
-        if(mazePanel.isAnimating()) return;
+        if(isBusy()) return;
         int r = (int) rowsSpinner.getValue();
         int c = (int) colsSpinner.getValue();
-        generator.resize(r, c);
-
+        long seed = System.nanoTime(); // Seed baru tiap generate, dicatat di file saat SAVE
         String algo = (String) algoGenCombo.getSelectedItem();
-        if (algo.contains("Prim")) generator.generatePrim();
-        else generator.generateKruskal();
+        boolean loops = loopCheck.isSelected(), terrain = terrainCheck.isSelected();
+
+        // Generator baru per task: grid yang sedang tampil tidak disentuh sampai hasilnya diserahkan di EDT
+        runTask(new BackgroundTask<MazeGenerator>("Generating " + r + "x" + c) {
+            @Override MazeGenerator compute() {
+                MazeGenerator gen = new MazeGenerator(r, c, seed);
+                if (algo.contains("Prim")) gen.generatePrim();
+                else if (algo.contains("Tiled")) gen.generateTiled(64);
+                else gen.generateKruskal();
+
+                // LOGIC BARU: Tambah loop jika dicentang
+                if (loops) {
+                    gen.addLoops(0.05); // 5% dinding dihapus acak untuk buat loop
+                }
 
-        // LOGIC BARU: Tambah loop jika dicentang
-        if (loopCheck.isSelected()) {
-            generator.addLoops(0.05); // 5% dinding dihapus acak untuk buat loop
-        }
+                if (terrain) gen.generateTerrain();
+                return gen;
+            }
 
-        if (terrainCheck.isSelected()) generator.generateTerrain();
+            @Override void finish(MazeGenerator gen) {
+                showMaze(gen.getGrid(), seed, gen.getAlgorithm());
+            }
+        });
+    }
 
-        solver.updateGrid(generator.getGrid());
-        mazePanel.setGrid(generator.getGrid(), r, c);
+    private void showMaze(MazeGrid grid, long seed, String generatorName) {
+        maze = grid;
+        mazeSeed = seed;
+        mazeGenerator = generatorName;
+        solver.updateGrid(grid);
+        mazePanel.setGrid(grid);
 
         resetStats();
         btnAlternative.setEnabled(false); // Reset tombol alt
         primaryPath.clear();
     }
 
-    private void solveMaze() {
-        if(mazePanel.isAnimating()) return;
+    // --- SIMPAN / MUAT FILE MAZE ---
+    // I/O dan salinan ke MazeGrid jalan di BackgroundTask seperti generate/solve. Selama task jalan
+    // maze yang tampil tidak bisa diubah (isBusy), jadi aman dibaca dari thread worker.
+    private void saveMaze() {
+        if(isBusy()) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("maze.bin"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path target = chooser.getSelectedFile().toPath();
+        MazeGrid grid = maze;
+        long seed = mazeSeed;
+        String generatorName = mazeGenerator;
+
+        runTask(new BackgroundTask<Void>("Saving maze") {
+            @Override Void compute() {
+                // Tulis ke file sementara lalu pindahkan: batal/gagal di tengah tidak merusak file lama
+                Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+                try {
+                    MazeFile.save(grid, seed, generatorName, tmp);
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                    return null;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                } finally {
+                    try {
+                        Files.deleteIfExists(tmp);
+                    } catch (IOException ex) {
+                        // Sisa file sementara, tidak fatal
+                    }
+                }
+            }
 
-        String algo = getSelectedAlgo();
-        boolean found = solver.solve(algo);
+            @Override void finish(Void result) { progressBar.setString("Saved " + target.getFileName()); }
+        });
+    }
 
-        if (found) {
-            primaryPath = new ArrayList<>(solver.finalPath); // Simpan path utama
-            btnAlternative.setEnabled(true); // Hidupkan tombol alternatif
+    private void loadMaze() {
+        if(isBusy()) return;
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path source = chooser.getSelectedFile().toPath();
+
+        runTask(new BackgroundTask<MazeGrid>("Loading maze") {
+            private volatile MazeFile header;
+
+            @Override MazeGrid compute() {
+                try (MappedMaze mapped = MappedMaze.open(source)) {
+                    header = mapped.getHeader();
+                    return MazeFile.toGrid(mapped, this::report);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
 
-            int delay = 105 - speedSlider.getValue();
-            if (delay < 5) delay = 5;
-            mazePanel.setAlternativeMode(false); // Reset warna jadi Gold
-            mazePanel.animate(solver.explorationSteps, solver.finalPath, delay, this::updateStats);
-        } else {
-            JOptionPane.showMessageDialog(this, "No Path Found!");
-        }
+            @Override protected void process(List<int[]> chunks) {
+                if (task != this) return;
+                int[] last = chunks.get(chunks.size() - 1);
+                progressBar.setString("Loading maze: " + last[0] + " / " + last[1] + " cells");
+            }
+
+            @Override void finish(MazeGrid grid) {
+                setSpinnerIfInRange(rowsSpinner, grid.getRows());
+                setSpinnerIfInRange(colsSpinner, grid.getCols());
+                showMaze(grid, header.seed, header.generator);
+            }
+        });
+    }
+
+    private void solveMaze() {
+        if(isBusy()) return;
+
+        String algo = getSelectedAlgo();
+        runTask(new BackgroundTask<Boolean>("Solving " + algo) {
+            @Override Boolean compute() { return solver.solve(algo); }
+
+            @Override void finish(Boolean found) {
+                if (found) {
+                    primaryPath = solver.finalPath.copy(); // Simpan path utama
+                    btnAlternative.setEnabled(true); // Hidupkan tombol alternatif
+                    animateResult(false); // Warna Gold
+                } else {
+                    JOptionPane.showMessageDialog(MazeApplication.this, "No Path Found!");
+                }
+            }
+        });
     }
 
     // Logic Tombol Alternatif
     private void solveAlternative() {
-        if(mazePanel.isAnimating()) return;
+        if(isBusy()) return;
         if(primaryPath.isEmpty()) return;
 
-        String algo = getSelectedAlgo();
-        // Cari path dengan penalti pada path utama
-        boolean found = solver.solveAlternative(algo, primaryPath);
+        // Path terbaik berikutnya (K shortest paths); klik lagi untuk path urutan berikutnya
+        IntList previous = primaryPath;
+        runTask(new BackgroundTask<Boolean>("Finding alternative") {
+            @Override Boolean compute() { return solver.solveAlternative(previous); }
 
-        if (found) {
-            int delay = 105 - speedSlider.getValue();
-            if (delay < 5) delay = 5;
+            @Override void finish(Boolean found) {
+                if (found) {
+                    primaryPath = solver.finalPath.copy();
+                    animateResult(true); // Ubah warna jadi Ungu
+                } else {
+                    JOptionPane.showMessageDialog(MazeApplication.this, "No More Alternative Paths (Maze might be too tight!)");
+                }
+            }
+        });
+    }
 
-            mazePanel.setAlternativeMode(true); // Ubah warna jadi Ungu
-            mazePanel.animate(solver.explorationSteps, solver.finalPath, delay, this::updateStats);
-        } else {
-            JOptionPane.showMessageDialog(this, "No Alternative Path Found (Maze might be too tight!)");
+    // --- BENCHMARK ---
+    // Angka satu solve dingin kebanyakan noise JIT; di sini tiap algoritma di-warmup lalu diukur
+    // berulang (MazeBenchmark.benchmarkSolve) di thread worker. Grid tampil hanya dibaca.
+    private static final String[] BENCH_ALGOS = {"BFS", "DFS", "Dijkstra", "A*"};
+
+    private void benchmarkMaze() {
+        if(isBusy()) return;
+        String[] algos = benchAllCheck.isSelected() ? BENCH_ALGOS : new String[]{getSelectedAlgo()};
+        MazeGrid grid = maze;
+        runTask(new BackgroundTask<List<MazeBenchmark.SolveStats>>("Benchmark") {
+            private volatile String current = algos[0];
+
+            @Override List<MazeBenchmark.SolveStats> compute() {
+                List<MazeBenchmark.SolveStats> results = new ArrayList<>();
+                for (String algo : algos) {
+                    current = algo;
+                    results.add(MazeBenchmark.benchmarkSolve(grid, algo, 0, grid.size() - 1, this::report));
+                }
+                return results;
+            }
+
+            @Override protected void process(List<int[]> chunks) {
+                if (task != this) return;
+                int[] last = chunks.get(chunks.size() - 1);
+                progressBar.setString("Benchmark " + current + ": run " + last[0] + "/" + last[1]);
+            }
+
+            @Override void finish(List<MazeBenchmark.SolveStats> results) { showBenchmark(grid, results); }
+        });
+    }
+
+    private void showBenchmark(MazeGrid grid, List<MazeBenchmark.SolveStats> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Maze %dx%d, %d warmup + up to %d runs each%n%n",
+                grid.getRows(), grid.getCols(), MazeBenchmark.UI_WARMUP, MazeBenchmark.UI_RUNS));
+        sb.append(String.format(Locale.ROOT, "%-22s %5s %10s %10s %10s %12s %12s%n",
+                "Algorithm", "Runs", "p50 µs", "p90 µs", "p99 µs", "Cells/s", "Alloc/solve"));
+        for (MazeBenchmark.SolveStats r : results) {
+            String alloc = r.bytesPerSolve < 0 ? "n/a" : formatBytes(r.bytesPerSolve);
+            sb.append(String.format(Locale.ROOT, "%-22s %5d %10.1f %10.1f %10.1f %12.3g %12s%s%n",
+                    r.algorithm, r.runs, r.p50Us, r.p90Us, r.p99Us, r.cellsPerSec, alloc, r.found ? "" : "  (no path)"));
+        }
+        JTextArea area = new JTextArea(sb.toString());
+        area.setEditable(false);
+        area.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(area), "Benchmark", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private void animateResult(boolean alternative) {
+        // Durasi total animasi, skala log: slider 1 = 30 s, 50 = ~4 s, 100 = 0.5 s (berapa pun ukuran maze)
+        long durationMs = Math.round(500 * Math.pow(60, (100 - speedSlider.getValue()) / 99.0));
+        mazePanel.setAlternativeMode(alternative);
+        btnCancel.setEnabled(true); // Selama animasi CANCEL = lompat ke hasil akhir
+        mazePanel.animate(solver.explorationSteps, solver.finalPath, durationMs, () -> {
+            btnCancel.setEnabled(false);
+            updateStats();
+        });
+    }
+
+    // --- PEKERJAAN BACKGROUND ---
+    // Generate/solve jalan di SwingWorker supaya EDT tetap bebas menggambar. Hanya satu task
+    // sekaligus, dan selama task jalan EDT tidak menyentuh solver; hasilnya baru dibaca di done().
+    // Cancel meng-interrupt thread worker (loop pencarian mengeceknya lewat SearchContext), bukan
+    // SwingWorker.cancel(), karena itu memanggil done() sebelum worker benar-benar berhenti.
+    private abstract class BackgroundTask<T> extends SwingWorker<T, int[]> {
+        private final String label;
+        private Thread thread; // Dijaga synchronized supaya interrupt tidak bocor ke task berikutnya
+        private volatile boolean cancelRequested;
+
+        BackgroundTask(String label) { this.label = label; }
+
+        abstract T compute();           // Di thread worker
+        abstract void finish(T result); // Di EDT, hanya kalau selesai tanpa dibatalkan
+
+        // SearchContext.Progress, dipanggil dari thread worker
+        void report(int explored, int frontier) { publish(new int[]{explored, frontier}); }
+
+        synchronized void requestCancel() {
+            cancelRequested = true;
+            if (thread != null) thread.interrupt();
+        }
+
+        @Override protected T doInBackground() {
+            synchronized (this) { thread = Thread.currentThread(); }
+            try {
+                if (cancelRequested) throw new CancellationException(label + " cancelled");
+                T result = compute();
+                // Tahap yang tidak mengecek interrupt (build graf, generate) tetap jalan sampai selesai
+                if (cancelRequested) throw new CancellationException(label + " cancelled");
+                return result;
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                    Thread.interrupted(); // Thread SwingWorker dipakai ulang
+                }
+            }
+        }
+
+        @Override protected void process(List<int[]> chunks) {
+            if (task != this) return;
+            int[] last = chunks.get(chunks.size() - 1); // Update yang menumpuk cukup diambil terakhir
+            progressBar.setString(label + ": " + last[0] + " explored, frontier " + last[1]);
+        }
+
+        @Override protected void done() {
+            task = null;
+            solver.setProgress(null);
+            setBusy(false, "Idle");
+            try {
+                finish(get());
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof UncheckedIOException) cause = cause.getCause();
+                // I/O yang di-interrupt gagal dengan ClosedByInterruptException, tetap dianggap batal
+                if (cause instanceof CancellationException || cancelRequested) progressBar.setString("Cancelled");
+                else JOptionPane.showMessageDialog(MazeApplication.this, label + " failed: " + cause);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runTask(BackgroundTask<?> t) {
+        task = t;
+        solver.setProgress(t::report);
+        setBusy(true, t.label + "...");
+        t.execute();
+    }
+
+    private boolean isBusy() { return task != null || mazePanel.isAnimating(); }
+
+    private void setBusy(boolean busy, String status) {
+        progressBar.setIndeterminate(busy);
+        progressBar.setString(status);
+        btnGen.setEnabled(!busy);
+        btnSave.setEnabled(!busy);
+        btnLoad.setEnabled(!busy);
+        btnSolve.setEnabled(!busy);
+        btnBenchmark.setEnabled(!busy);
+        btnAlternative.setEnabled(!busy && !primaryPath.isEmpty());
+        btnCancel.setEnabled(busy);
+    }
+
+    // Batalkan task yang jalan, atau kalau sedang animasi langsung tampilkan hasil akhirnya
+    private void cancel() {
+        if (task != null) {
+            task.requestCancel();
+            progressBar.setString("Cancelling...");
+        } else if (mazePanel.isAnimating()) {
+            mazePanel.finishAnimation();
         }
     }
 
     private String getSelectedAlgo() {
         String algo = (String) algoSolveCombo.getSelectedItem();
+        if(algo.startsWith("Bidirectional") || algo.startsWith("Corridor") || algo.equals("HPA*") || algo.equals(MazeSolver.INCREMENTAL)
+                || algo.equals(MazeSolver.DISTANCE_FIELD)) return algo;
+        if(algo.contains("Landmarks")) return "A* (ALT)";
+        if(algo.contains("Bucket")) return algo.startsWith("A*") ? "A* (Dial)" : "Dijkstra (Dial)";
         if(algo.contains("BFS")) return "BFS";
         if(algo.contains("DFS")) return "DFS";
         if(algo.contains("Dijkstra")) return "Dijkstra";
@@ -210,7 +518,10 @@ public class MazeApplication extends JFrame {
     }
 
     private void updateStats() {
-        statExplored.setText("Cells Explored: " + solver.cellsExploredCount);
+        String explored = "Cells Explored: " + solver.cellsExploredCount;
+        if(solver.cellsExploredBackward > 0) explored += " (" + solver.cellsExploredForward + " + " + solver.cellsExploredBackward + ")";
+        if(solver.abstractExpanded > 0) explored += " (abstract " + solver.abstractExpanded + " + refined " + solver.refinedExpanded + ")";
+        statExplored.setText(explored);
         statPathLen.setText("Path Length: " + solver.pathLength);
         statCost.setText("Total Cost: " + solver.pathCost);
         statTime.setText("Time: " + solver.executionTime + " µs");
@@ -223,10 +534,15 @@ public class MazeApplication extends JFrame {
         statTime.setText("Time: -");
     }
 
+    private void setSpinnerIfInRange(JSpinner spinner, int value) {
+        SpinnerNumberModel model = (SpinnerNumberModel) spinner.getModel();
+        if (value >= ((Number) model.getMinimum()).intValue() && value <= ((Number) model.getMaximum()).intValue()) spinner.setValue(value);
+    }
+
     // UI Styles
     private void styleCheckBox(JCheckBox cb) { cb.setForeground(TEXT_COLOR); cb.setBackground(PANEL_COLOR); cb.setFocusPainted(false); }
     private void addSectionHeader(JPanel p, String text) { JLabel l = new JLabel(text); l.setFont(new Font("Segoe UI", Font.BOLD, 12)); l.setForeground(ACCENT_COLOR); p.add(l); p.add(Box.createVerticalStrut(8)); }
-    private JSpinner createDarkSpinner(int val) { JSpinner s = new JSpinner(new SpinnerNumberModel(val, 5, 200, 1)); s.setMaximumSize(new Dimension(100, 30)); return s; }
+    private JSpinner createDarkSpinner(int val) { JSpinner s = new JSpinner(new SpinnerNumberModel(val, 5, 1000, 1)); s.setMaximumSize(new Dimension(100, 30)); return s; }
     private JComboBox<String> createDarkCombo(String[] items) { JComboBox<String> box = new JComboBox<>(items); box.setMaximumSize(new Dimension(300, 35)); return box; }
     private JButton createStyledButton(String text, Color bg) { JButton btn = new JButton(text); btn.setMaximumSize(new Dimension(300, 40)); btn.setBackground(bg); btn.setForeground(Color.WHITE); btn.setFont(new Font("Segoe UI", Font.BOLD, 12)); btn.setFocusPainted(false); btn.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0)); btn.setCursor(new Cursor(Cursor.HAND_CURSOR)); btn.setAlignmentX(Component.CENTER_ALIGNMENT); return btn; }
     private JLabel createStatLabel(String text) { JLabel l = new JLabel(text); l.setForeground(Color.WHITE); l.setFont(new Font("Monospaced", Font.PLAIN, 12)); return l; }
@@ -238,127 +554,373 @@ public class MazeApplication extends JFrame {
     public static void main(String[] args) { SwingUtilities.invokeLater(MazeApplication::new); }
 }
 
+// Viewport yang bisa di-zoom (roda mouse) dan di-geser (drag); klik ganda = pas ke layar.
+// Dua mode render, keduanya sebanding dengan ukuran layar, bukan ukuran maze:
+//  - detail (sel >= DETAIL_MIN px): hanya sel yang terlihat digambar ke BufferedImage seukuran
+//    panel. Urutan render kanonik: semua isi sel dulu, baru semua dinding. Gambar ulang satu sel
+//    di-clip ke kotak sel itu lalu menggambar dinding 3x3 tetangganya, hasilnya sama persis
+//    dengan render penuh.
+//  - LOD (sel lebih kecil): satu pixel per sel di image seukuran maze (tanpa dinding), di-blit
+//    dengan skala nearest-neighbor; Java2D hanya menyalin bagian di dalam clip.
+// Animasi: timer tetap ~60 fps; tiap frame menerapkan sebanyak mungkin langkah trace yang
+// seharusnya sudah tampil pada waktu itu (durasi total dipilih user), jadi selesai tepat waktu
+// berapa pun ukuran trace. Sel yang berubah dalam satu frame digabung jadi satu repaint(x, y, w, h);
+// kalau terlalu banyak (lebih dari sel di layar) canvas dirender ulang sekali saja.
 class MazePanel extends JPanel {
-    private Cell[][] grid;
+    private static final Color GOLD = new Color(255, 215, 0);
+    private static final Color SEARCHED_COLOR = new Color(70, 70, 90);
+    private static final Color EMPTY_COLOR = new Color(45, 45, 60);
+    private static final Color END_COLOR = new Color(255, 85, 85);
+    private static final int PAD = 20;
+    private static final int DETAIL_MIN = 4;     // px per sel; di bawah ini pakai LOD
+    private static final double MAX_SCALE = 96;
+    private static final double ZOOM_STEP = 1.25;
+    private static final int FRAME_MS = 16;           // ~60 fps
+    private static final double EXPLORE_SHARE = 0.75; // Porsi durasi untuk eksplorasi, sisanya path
+
+    private MazeGrid grid;
     private int rows, cols;
+    // Flag animasi per index sel; dikosongkan dengan clear(), tanpa objek per sel
+    private final BitSet searched = new BitSet(), onPath = new BitSet();
     private Timer timer;
     private boolean isAnimating = false;
 
-    private List<Cell> exploreList, pathList;
-    private int animIndex = 0;
-    private boolean phaseExplore = true;
+    private ExplorationTrace.Reader explore; // Dibaca berurutan (trace besar bisa ada di file temp)
+    private int exploreSize, exploreDone;
+    private IntList pathList;
+    private int pathDone;
+    private long animStart, durationNs;
     private Runnable onFinish;
+    private int dirtyX0 = 1, dirtyY0, dirtyX1 = 0, dirtyY1; // Kotak gabungan sel berubah di frame ini (x0 > x1 = kosong)
     private boolean isAlternativeMode = false; // State warna path
 
-    public MazePanel(Cell[][] grid) {
-        this.grid = grid;
-        this.rows = grid.length;
-        this.cols = grid[0].length;
+    // Viewport: scale = px per sel (bulat di mode detail), (viewX, viewY) = posisi layar pojok maze.
+    // Selama user belum zoom/geser, resize panel tetap memaskan maze ke layar.
+    private double scale = DETAIL_MIN, viewX, viewY;
+    private boolean fitted = true;
+    private int layoutW = -1, layoutH = -1;
+    private int dragX, dragY;
+
+    // Mode detail: image seukuran panel; mode LOD: image seukuran maze. Valid = sesuai state sekarang.
+    private BufferedImage canvas, lod;
+    private Graphics2D canvasGraphics;
+    private boolean canvasValid = false, lodValid = false;
+    private int cellSize, originX, originY; // Snapshot viewport saat canvas dirender
+    private BasicStroke wallStroke;
+
+    public MazePanel(MazeGrid maze) {
+        this.grid = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
         setBackground(MazeApplication.BG_COLOR);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override public void mousePressed(MouseEvent e) { dragX = e.getX(); dragY = e.getY(); }
+            @Override public void mouseDragged(MouseEvent e) {
+                pan(e.getX() - dragX, e.getY() - dragY);
+                dragX = e.getX();
+                dragY = e.getY();
+            }
+            @Override public void mouseClicked(MouseEvent e) { if (e.getClickCount() == 2) fitToView(); }
+            @Override public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
     }
 
-    public void setGrid(Cell[][] grid, int r, int c) {
+    public void setGrid(MazeGrid maze) {
         if(isAnimating && timer != null) timer.stop();
-        this.grid = grid;
-        this.rows = r;
-        this.cols = c;
+        if(explore != null) explore.close();
+        this.grid = maze;
+        this.rows = maze.getRows();
+        this.cols = maze.getCols();
         this.isAnimating = false;
-        for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) grid[i][j].resetSolverState();
-        repaint();
+        resetSolverState();
+        lod = null;
+        fitted = true;
+        layoutW = -1; // Pas ulang ke layar saat paint berikutnya
+        invalidateCanvas();
     }
 
-    public void setAlternativeMode(boolean mode) { this.isAlternativeMode = mode; }
+    public void setAlternativeMode(boolean mode) {
+        if (mode != isAlternativeMode) invalidateCanvas(); // Warna path berubah
+        this.isAlternativeMode = mode;
+    }
     public boolean isAnimating() { return isAnimating; }
 
-    public void animate(List<Cell> explore, List<Cell> path, int delay, Runnable callback) {
+    // Putar trace eksplorasi lalu path dalam durationMs total
+    public void animate(ExplorationTrace trace, IntList path, long durationMs, Runnable callback) {
         if(this.grid == null) return;
-        for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) grid[i][j].resetSolverState();
+        resetSolverState();
+        invalidateCanvas();
 
-        this.exploreList = explore;
+        if(this.explore != null) this.explore.close();
+        this.explore = trace.reader();
+        this.exploreSize = trace.size();
+        this.exploreDone = 0;
         this.pathList = path;
+        this.pathDone = 0;
         this.onFinish = callback;
-        this.animIndex = 0;
-        this.phaseExplore = true;
+        this.durationNs = Math.max(1, durationMs) * 1_000_000L;
+        this.animStart = System.nanoTime();
         this.isAnimating = true;
 
-        SoundManager.startScanning();
+        if (exploreSize > 0) SoundManager.startScanning();
 
         if(timer != null && timer.isRunning()) timer.stop();
-        timer = new Timer(delay, e -> updateAnimation());
+        timer = new Timer(FRAME_MS, e -> updateAnimation());
+        timer.setCoalesce(true); // Tick yang telat digabung, bukan ditumpuk
         timer.start();
     }
 
     private void updateAnimation() {
-        if (phaseExplore) {
-            int stepsPerFrame = (exploreList.size() > 2000) ? 10 : (exploreList.size() > 500) ? 3 : 1;
-            for(int k=0; k<stepsPerFrame; k++) {
-                if (animIndex < exploreList.size()) {
-                    exploreList.get(animIndex).searched = true;
-                    animIndex++;
-                } else {
-                    phaseExplore = false;
-                    //  MATIKAN SUARA SCANNING ---
-                    SoundManager.stopScanning();
-                    animIndex = 0;
-                    break;
-                }
-            }
-        } else {
-            if (animIndex < pathList.size()) {
-                pathList.get(animIndex).isPath = true;
-                animIndex++;
-            } else {
-                timer.stop();
-                SoundManager.stopScanning();
-                isAnimating = false;
-                if(onFinish != null) onFinish.run();
-            }
+        double t = (System.nanoTime() - animStart) / (double) durationNs;
+        // Eksplorasi dapat EXPLORE_SHARE pertama dari durasi, path sisanya (atau semua kalau salah satunya kosong)
+        double split = exploreSize == 0 ? 0 : pathList.isEmpty() ? 1 : EXPLORE_SHARE;
+        int exploreTarget = t >= split ? exploreSize : (int) Math.ceil(exploreSize * t / split);
+        int pathTarget = t >= 1 ? pathList.size() : t <= split ? 0 : (int) Math.ceil(pathList.size() * (t - split) / (1 - split));
+        advanceTo(exploreTarget, pathTarget);
+    }
+
+    // Lompat ke akhir animasi: semua sel eksplorasi & path langsung ditandai
+    public void finishAnimation() {
+        if (!isAnimating) return;
+        advanceTo(exploreSize, pathList.size());
+    }
+
+    // Terapkan langkah sampai target; repaint digabung satu kali di akhir
+    private void advanceTo(int exploreTarget, int pathTarget) {
+        int steps = (exploreTarget - exploreDone) + (pathTarget - pathDone);
+        // Mode detail: lebih dari satu layar penuh sel berubah -> render ulang layar lebih murah.
+        // Mode LOD cukup setRGB per sel, render ulang justru sebanding ukuran maze.
+        boolean bulk = detailMode() && steps > visibleCells();
+        boolean exploring = exploreDone < exploreSize;
+        while (exploreDone < exploreTarget && explore.hasNext()) {
+            int index = explore.next();
+            searched.set(index);
+            if (!bulk) redrawCell(index);
+            exploreDone++;
+        }
+        if (exploring && exploreDone >= exploreSize) SoundManager.stopScanning(); // MATIKAN SUARA SCANNING
+        while (pathDone < pathTarget) {
+            int index = pathList.get(pathDone++);
+            onPath.set(index);
+            if (!bulk) redrawCell(index);
         }
+        if (bulk) invalidateCanvas();
+        else flushDirty();
+
+        if (exploreDone >= exploreSize && pathDone >= pathList.size()) {
+            timer.stop();
+            explore.close();
+            isAnimating = false;
+            if(onFinish != null) onFinish.run();
+        }
+    }
+
+    private void resetSolverState() {
+        searched.clear();
+        onPath.clear();
+    }
+
+    // --- VIEWPORT ---
+    public void fitToView() {
+        fitted = true;
+        int availableW = Math.max(1, getWidth() - (2 * PAD)), availableH = Math.max(1, getHeight() - (2 * PAD));
+        scale = Math.min((double) availableW / cols, (double) availableH / rows);
+        if (scale >= DETAIL_MIN) scale = Math.floor(scale);
+        viewX = (getWidth() - scale * cols) / 2;
+        viewY = (getHeight() - scale * rows) / 2;
+        layoutW = getWidth();
+        layoutH = getHeight();
+        canvasValid = false;
         repaint();
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (grid == null) return;
+    // Zoom dengan titik (anchorX, anchorY) di layar tetap menunjuk sel yang sama
+    public void zoom(double factor, int anchorX, int anchorY) {
+        double minScale = Math.min(1, 0.5 * Math.min((double) getWidth() / cols, (double) getHeight() / rows));
+        double next = Math.max(minScale, Math.min(MAX_SCALE, scale * factor));
+        if (next >= DETAIL_MIN) {
+            // Mode detail butuh ukuran sel bulat; pastikan tiap notch tetap bergerak minimal 1 px
+            double rounded = Math.round(next);
+            if (rounded == scale && factor != 1) rounded += factor > 1 ? 1 : -1;
+            next = Math.max(minScale, Math.min(MAX_SCALE, rounded));
+        }
+        if (next == scale) return;
+        viewX = anchorX - (anchorX - viewX) * next / scale;
+        viewY = anchorY - (anchorY - viewY) * next / scale;
+        scale = next;
+        fitted = false;
+        canvasValid = false;
+        repaint();
+    }
+
+    public void pan(int dx, int dy) {
+        if (dx == 0 && dy == 0) return;
+        viewX += dx;
+        viewY += dy;
+        fitted = false;
+        canvasValid = false;
+        repaint();
+    }
 
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    private boolean detailMode() { return scale >= DETAIL_MIN; }
 
-        int panelW = getWidth(), panelH = getHeight(), pad = 20;
-        int availableW = panelW - (2 * pad), availableH = panelH - (2 * pad);
-        int cellSize = Math.min(availableW / cols, availableH / rows);
-        if (cellSize < 2) cellSize = 2;
+    // --- RENDER ---
+    private void invalidateCanvas() {
+        canvasValid = false;
+        lodValid = false;
+        repaint();
+    }
 
-        int startX = (panelW - (cellSize * cols)) / 2;
-        int startY = (panelH - (cellSize * rows)) / 2;
+    // Perbarui satu sel di image lalu tandai kotaknya di layar sebagai dirty (lihat flushDirty)
+    private void redrawCell(int index) {
+        int r = index / cols, c = index % cols;
+        if (lodValid) lod.setRGB(c, r, cellColor(r, c).getRGB()); // Tetap sinkron walau sedang mode detail
+        if (!detailMode()) {
+            if (!lodValid) return; // Render penuh berikutnya sudah memakai flag terbaru
+            int x0 = (int) Math.floor(viewX + c * scale), y0 = (int) Math.floor(viewY + r * scale);
+            int x1 = (int) Math.ceil(viewX + (c + 1) * scale), y1 = (int) Math.ceil(viewY + (r + 1) * scale);
+            markDirty(x0, y0, Math.max(x0 + 1, x1), Math.max(y0 + 1, y1));
+            return;
+        }
+        if (!canvasValid) return;
+        int x = originX + c * cellSize, y = originY + r * cellSize;
+        if (x >= canvas.getWidth() || y >= canvas.getHeight() || x + cellSize < 0 || y + cellSize < 0) return; // Di luar layar
+        canvasGraphics.setClip(x, y, cellSize, cellSize);
+        fillCell(r, c);
+        for (int i = Math.max(0, r - 1); i <= Math.min(rows - 1, r + 1); i++) {
+            for (int j = Math.max(0, c - 1); j <= Math.min(cols - 1, c + 1); j++) drawWalls(i, j);
+        }
+        canvasGraphics.setClip(null);
+        markDirty(x, y, x + cellSize, y + cellSize);
+    }
+
+    private void markDirty(int x0, int y0, int x1, int y1) {
+        if (dirtyX0 > dirtyX1) {
+            dirtyX0 = x0; dirtyY0 = y0; dirtyX1 = x1; dirtyY1 = y1;
+            return;
+        }
+        dirtyX0 = Math.min(dirtyX0, x0);
+        dirtyY0 = Math.min(dirtyY0, y0);
+        dirtyX1 = Math.max(dirtyX1, x1);
+        dirtyY1 = Math.max(dirtyY1, y1);
+    }
 
+    // Satu repaint untuk semua sel yang berubah sejak flush terakhir
+    private void flushDirty() {
+        if (dirtyX0 > dirtyX1) return;
+        repaint(dirtyX0, dirtyY0, dirtyX1 - dirtyX0, dirtyY1 - dirtyY0);
+        dirtyX0 = 1;
+        dirtyX1 = 0;
+    }
+
+    // Perkiraan jumlah sel di layar pada zoom sekarang
+    private int visibleCells() {
+        long across = getWidth() / Math.max(1, (int) scale) + 2, down = getHeight() / Math.max(1, (int) scale) + 2;
+        return (int) Math.min(Integer.MAX_VALUE, across * down);
+    }
+
+    private void renderCanvas() {
+        int w = Math.max(1, getWidth()), h = Math.max(1, getHeight());
+        if (canvas == null || canvas.getWidth() != w || canvas.getHeight() != h) {
+            if (canvasGraphics != null) canvasGraphics.dispose();
+            canvas = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            canvasGraphics = canvas.createGraphics();
+            // Semua bentuk sejajar sumbu; tanpa antialias gambar ulang parsial tidak menumpuk alpha
+            canvasGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        }
+        if (cellSize != (int) scale || wallStroke == null) wallStroke = new BasicStroke(Math.max(1, (int) scale / 15));
+        cellSize = (int) scale;
+        originX = (int) Math.floor(viewX);
+        originY = (int) Math.floor(viewY);
+
+        canvasGraphics.setColor(MazeApplication.BG_COLOR);
+        canvasGraphics.fillRect(0, 0, w, h);
+        // Culling: hanya baris/kolom yang beririsan dengan layar
+        int c0 = Math.max(0, (-originX) / cellSize - 1), c1 = Math.min(cols - 1, (w - originX) / cellSize + 1);
+        int r0 = Math.max(0, (-originY) / cellSize - 1), r1 = Math.min(rows - 1, (h - originY) / cellSize + 1);
+        for (int r = r0; r <= r1; r++) for (int c = c0; c <= c1; c++) fillCell(r, c);
+        for (int r = r0; r <= r1; r++) for (int c = c0; c <= c1; c++) drawWalls(r, c);
+        canvasValid = true;
+    }
+
+    private void renderLod() {
+        if (lod == null) lod = new BufferedImage(cols, rows, BufferedImage.TYPE_INT_RGB);
+        int[] row = new int[cols];
         for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                int x = startX + c * cellSize, y = startY + r * cellSize;
-                Cell cell = grid[r][c];
-
-                // Logic Warna
-                if (cell.isPath) {
-                    // Jika mode alternatif, warna Ungu, jika tidak Emas
-                    g2d.setColor(isAlternativeMode ? MazeApplication.PURPLE_ACCENT : new Color(255, 215, 0));
-                } else if (cell.searched) {
-                    if(cell.terrainColor != null) g2d.setColor(cell.terrainColor.darker());
-                    else g2d.setColor(new Color(70, 70, 90));
-                } else if (cell.terrainColor != null) g2d.setColor(cell.terrainColor);
-                else g2d.setColor(new Color(45, 45, 60));
-                g2d.fillRect(x, y, cellSize, cellSize);
-
-                if (r == 0 && c == 0) { g2d.setColor(MazeApplication.GREEN_ACCENT); g2d.fillRect(x + cellSize/4, y + cellSize/4, cellSize/2, cellSize/2); }
-                else if (r == rows - 1 && c == cols - 1) { g2d.setColor(new Color(255, 85, 85)); g2d.fillRect(x + cellSize/4, y + cellSize/4, cellSize/2, cellSize/2); }
-
-                g2d.setColor(MazeApplication.WALL_COLOR);
-                g2d.setStroke(new BasicStroke(Math.max(1, cellSize/15)));
-                if (cell.topWall) g2d.drawLine(x, y, x + cellSize, y);
-                if (cell.bottomWall) g2d.drawLine(x, y + cellSize, x + cellSize, y + cellSize);
-                if (cell.leftWall) g2d.drawLine(x, y, x, y + cellSize);
-                if (cell.rightWall) g2d.drawLine(x + cellSize, y, x + cellSize, y + cellSize);
-            }
+            for (int c = 0; c < cols; c++) row[c] = cellColor(r, c).getRGB();
+            lod.setRGB(0, r, cols, 1, row, 0, cols);
         }
+        lodValid = true;
     }
-}
\ No newline at end of file
+
+    private Color cellColor(int r, int c) {
+        int index = r * cols + c;
+        // Logic Warna
+        int code = grid.terrain(index);
+        Color terrain = Cell.terrainColor(code);
+        if (onPath.get(index)) {
+            // Jika mode alternatif, warna Ungu, jika tidak Emas
+            return isAlternativeMode ? MazeApplication.PURPLE_ACCENT : GOLD;
+        } else if (searched.get(index)) {
+            return terrain != null ? Cell.searchedColor(code) : SEARCHED_COLOR;
+        }
+        if (r == 0 && c == 0) return MazeApplication.GREEN_ACCENT; // Penanda start/end, hanya di LOD
+        if (r == rows - 1 && c == cols - 1) return END_COLOR;
+        return terrain != null ? terrain : EMPTY_COLOR;
+    }
+
+    private void fillCell(int r, int c) {
+        Graphics2D g2d = canvasGraphics;
+        int x = originX + c * cellSize, y = originY + r * cellSize;
+        int index = r * cols + c, code = grid.terrain(index);
+        Color terrain = Cell.terrainColor(code);
+        if (onPath.get(index)) g2d.setColor(isAlternativeMode ? MazeApplication.PURPLE_ACCENT : GOLD);
+        else if (searched.get(index)) g2d.setColor(terrain != null ? Cell.searchedColor(code) : SEARCHED_COLOR);
+        else g2d.setColor(terrain != null ? terrain : EMPTY_COLOR);
+        g2d.fillRect(x, y, cellSize, cellSize);
+
+        if (r == 0 && c == 0) { g2d.setColor(MazeApplication.GREEN_ACCENT); g2d.fillRect(x + cellSize/4, y + cellSize/4, cellSize/2, cellSize/2); }
+        else if (r == rows - 1 && c == cols - 1) { g2d.setColor(END_COLOR); g2d.fillRect(x + cellSize/4, y + cellSize/4, cellSize/2, cellSize/2); }
+    }
+
+    private void drawWalls(int r, int c) {
+        Graphics2D g2d = canvasGraphics;
+        int x = originX + c * cellSize, y = originY + r * cellSize;
+        int w = grid.walls(r * cols + c);
+        g2d.setColor(MazeApplication.WALL_COLOR);
+        g2d.setStroke(wallStroke);
+        if ((w & MazeGrid.TOP) != 0) g2d.drawLine(x, y, x + cellSize, y);
+        if ((w & MazeGrid.BOTTOM) != 0) g2d.drawLine(x, y + cellSize, x + cellSize, y + cellSize);
+        if ((w & MazeGrid.LEFT) != 0) g2d.drawLine(x, y, x, y + cellSize);
+        if ((w & MazeGrid.RIGHT) != 0) g2d.drawLine(x + cellSize, y, x + cellSize, y + cellSize);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (grid == null) return;
+        if (getWidth() != layoutW || getHeight() != layoutH) {
+            if (fitted) fitToView();
+            layoutW = getWidth();
+            layoutH = getHeight();
+            canvasValid = false;
+        }
+        if (detailMode()) {
+            if (!canvasValid) renderCanvas();
+            g.drawImage(canvas, 0, 0, null); // Java2D hanya menyalin bagian di dalam clip
+        } else {
+            if (!lodValid) renderLod();
+            int x0 = (int) Math.floor(viewX), y0 = (int) Math.floor(viewY);
+            int x1 = (int) Math.round(viewX + cols * scale), y1 = (int) Math.round(viewY + rows * scale);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2d.drawImage(lod, x0, y0, Math.max(x0 + 1, x1), Math.max(y0 + 1, y1), 0, 0, cols, rows, null);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+// Benchmark generator & solver dengan warmup dan seed tetap, supaya angka antar versi bisa dibandingkan.
+//
+// Jalankan lewat ./bench.sh [opsi...] (compile src/ lalu jalankan, tanpa AWT), atau setelah compile:
+//   java -cp out/production/<module> MazeBenchmark [--sizes 50,200,1000,4000] [--loops 0,0.05]
+//        [--terrain on,off] [--warmup 5] [--iterations 10] [--seed 42] [--only prim,kruskal,tiled,loops,terrain,solve]
+//
+// Output CSV: benchmark,size,loops,terrain,mean_us,p50_us,p90_us,p99_us,min_us
+public class MazeBenchmark {
+    static final String[] SOLVE_ALGOS = {"BFS", "DFS", "Dijkstra", "A*", "Corridor A*"};
+
+    private int[] sizes = {50, 200, 1000, 4000};
+    private double[] loops = {0, 0.05};
+    private boolean[] terrain = {false, true};
+    private int warmup = 5, iterations = 10;
+    private long seed = 42;
+    private static final List<String> BENCHMARKS = Arrays.asList("prim", "kruskal", "tiled", "loops", "terrain", "solve");
+    private Set<String> only = new HashSet<>(BENCHMARKS);
+
+    // Hasil tiap operasi dijumlah ke sini supaya JIT tidak membuang kerja yang diukur
+    private long sink;
+
+    // Satu operasi yang diukur; setup() tidak ikut dihitung
+    interface Op {
+        default void setup() {}
+        void run();
+    }
+
+    public static void main(String[] args) {
+        MazeBenchmark bench = new MazeBenchmark();
+        try {
+            bench.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        }
+        bench.runAll();
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help")) { printUsage(System.out); System.exit(0); }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+            String v = args[++i];
+            switch (arg) {
+                case "--sizes": sizes = Arrays.stream(v.split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                case "--loops": loops = Arrays.stream(v.split(",")).mapToDouble(Double::parseDouble).toArray(); break;
+                case "--terrain": {
+                    String[] parts = v.split(",");
+                    terrain = new boolean[parts.length];
+                    for (int k = 0; k < parts.length; k++) {
+                        if (!parts[k].equals("on") && !parts[k].equals("off")) throw new IllegalArgumentException("--terrain expects on/off: " + parts[k]);
+                        terrain[k] = parts[k].equals("on");
+                    }
+                    break;
+                }
+                case "--warmup": warmup = Integer.parseInt(v); break;
+                case "--iterations": iterations = Integer.parseInt(v); break;
+                case "--seed": seed = Long.parseLong(v); break;
+                case "--only": only = new HashSet<>(Arrays.asList(v.split(","))); break;
+                default: throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        // NumberFormatException juga IllegalArgumentException, jadi angka rusak ikut ke pesan usage
+        for (int size : sizes) if (size <= 0) throw new IllegalArgumentException("--sizes must be > 0: " + size);
+        for (double p : loops) if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException("--loops must be in [0, 1]: " + p);
+        if (warmup < 0) throw new IllegalArgumentException("--warmup must be >= 0: " + warmup);
+        if (iterations <= 0) throw new IllegalArgumentException("--iterations must be > 0: " + iterations);
+        for (String b : only) if (!BENCHMARKS.contains(b)) throw new IllegalArgumentException("Unknown benchmark: " + b);
+    }
+
+    static void printUsage(PrintStream out) {
+        out.println("Usage: java MazeBenchmark [--sizes 50,200,1000,4000] [--loops 0,0.05] [--terrain on,off]");
+        out.println("                          [--warmup N] [--iterations N] [--seed S]");
+        out.println("                          [--only prim,kruskal,tiled,loops,terrain,solve]");
+    }
+
+    private void runAll() {
+        System.out.println("benchmark,size,loops,terrain,mean_us,p50_us,p90_us,p99_us,min_us");
+        for (int size : sizes) {
+            if (only.contains("prim")) report("generatePrim", size, 0, false, measure(generation(size, MazeGenerator::generatePrim)));
+            if (only.contains("kruskal")) report("generateKruskal", size, 0, false, measure(generation(size, MazeGenerator::generateKruskal)));
+            if (only.contains("tiled")) report("generateTiled", size, 0, false, measure(generation(size, gen -> gen.generateTiled(64))));
+            if (only.contains("loops")) {
+                for (double p : loops) {
+                    if (p == 0) continue;
+                    report("addLoops", size, p, false, measure(new Op() {
+                        MazeGenerator gen;
+                        public void setup() { gen = newGenerator(size); gen.generateKruskal(); }
+                        public void run() { gen.addLoops(p); }
+                    }));
+                }
+            }
+            if (only.contains("terrain")) {
+                MazeGenerator gen = newGenerator(size);
+                report("generateTerrain", size, 0, true, measure(gen::generateTerrain));
+            }
+            if (only.contains("solve")) {
+                for (double p : loops) {
+                    for (boolean t : terrain) {
+                        MazeSolver solver = new MazeSolver(buildMaze(size, p, t));
+                        solver.setRecordTrace(false); // Yang diukur pencariannya, bukan bookkeeping animasi
+                        for (String algo : SOLVE_ALGOS) {
+                            report("solve " + algo, size, p, t, measure(() -> { if (solver.solve(algo)) sink += solver.pathCost; }));
+                        }
+                    }
+                }
+            }
+        }
+        if (sink == 42) System.err.println(); // Jangan dihapus: menjaga sink tetap "dipakai"
+    }
+
+    private MazeGenerator newGenerator(int size) { return new MazeGenerator(size, size, seed); }
+
+    // Generator baru (grid + Random) dibuat di setup, jadi yang diukur hanya generate-nya
+    private Op generation(int size, Consumer<MazeGenerator> generate) {
+        return new Op() {
+            MazeGenerator gen;
+            public void setup() { gen = newGenerator(size); }
+            public void run() { generate.accept(gen); }
+        };
+    }
+
+    // Maze yang sama untuk seed/ukuran/opsi yang sama, sama seperti tombol GENERATE di UI
+    MazeGrid buildMaze(int size, double loopProbability, boolean withTerrain) {
+        MazeGenerator gen = newGenerator(size);
+        gen.generateKruskal();
+        if (loopProbability > 0) gen.addLoops(loopProbability);
+        if (withTerrain) gen.generateTerrain();
+        return gen.getGrid();
+    }
+
+    private long[] measure(Op op) {
+        for (int i = 0; i < warmup; i++) { op.setup(); op.run(); }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            op.setup();
+            long t0 = System.nanoTime();
+            op.run();
+            samples[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private void report(String name, int size, double loopProbability, boolean withTerrain, long[] sorted) {
+        System.out.printf(Locale.ROOT, "%s,%d,%.3f,%s,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                name, size, loopProbability, withTerrain ? "on" : "off",
+                mean(sorted) / 1000.0, percentile(sorted, 50) / 1000.0, percentile(sorted, 90) / 1000.0,
+                percentile(sorted, 99) / 1000.0, sorted[0] / 1000.0);
+    }
+
+    // --- BENCHMARK SOLVE DI UI ---
+    // Satu algoritma di maze yang sedang tampil: warmup dulu (JIT), lalu sampel berulang.
+    // Dibatasi jumlah run dan waktu supaya maze besar tidak macet; jalan di thread pemanggil dan
+    // berhenti dengan CancellationException kalau thread itu di-interrupt.
+    static final int UI_WARMUP = 10, UI_RUNS = 50;
+    static final long UI_WARMUP_NS = 2_000_000_000L, UI_MEASURE_NS = 5_000_000_000L;
+
+    static final class SolveStats {
+        final String algorithm;
+        final int runs;
+        final boolean found;
+        final double meanUs, p50Us, p90Us, p99Us;
+        final double cellsPerSec;
+        final long bytesPerSolve; // -1 kalau JVM tidak mendukung hitung alokasi per thread
+
+        SolveStats(String algorithm, long[] sorted, boolean found, long explored, long bytes) {
+            this.algorithm = algorithm;
+            this.runs = sorted.length;
+            this.found = found;
+            this.meanUs = mean(sorted) / 1000.0;
+            this.p50Us = percentile(sorted, 50) / 1000.0;
+            this.p90Us = percentile(sorted, 90) / 1000.0;
+            this.p99Us = percentile(sorted, 99) / 1000.0;
+            long total = 0;
+            for (long t : sorted) total += t;
+            this.cellsPerSec = total == 0 ? 0 : explored * 1e9 / total;
+            this.bytesPerSolve = bytes < 0 ? -1 : bytes / sorted.length;
+        }
+    }
+
+    // progress.report(selesai, total) dipanggil tiap run (warmup + ukur)
+    static SolveStats benchmarkSolve(MazeGrid grid, String algorithm, int start, int end, SearchContext.Progress progress) {
+        // LPA* dan Distance Field menyimpan hasil antar solve di maze yang tidak berubah, jadi tiap run
+        // pakai solver baru (dibuat di luar waktu ukur) supaya yang diukur solve penuh, bukan cache
+        boolean stateful = algorithm.equals(MazeSolver.INCREMENTAL) || algorithm.equals(MazeSolver.DISTANCE_FIELD);
+        MazeSolver solver = newSolver(grid);
+        int total = UI_WARMUP + UI_RUNS, done = 0;
+
+        long deadline = System.nanoTime() + UI_WARMUP_NS;
+        for (int i = 0; i < UI_WARMUP && System.nanoTime() < deadline; i++) {
+            checkCancelled();
+            if (stateful) solver = newSolver(grid);
+            solver.solve(algorithm, start, end);
+            progress.report(++done, total);
+        }
+
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        long threadId = Thread.currentThread().getId();
+        long[] samples = new long[UI_RUNS];
+        long explored = 0, bytes = threads == null ? -1 : 0;
+        boolean found = false;
+        int runs = 0;
+        deadline = System.nanoTime() + UI_MEASURE_NS;
+        while (runs < UI_RUNS && (runs < 5 || System.nanoTime() < deadline)) {
+            checkCancelled();
+            if (stateful) solver = newSolver(grid);
+            long a0 = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId);
+            long t0 = System.nanoTime();
+            found = solver.solve(algorithm, start, end);
+            samples[runs++] = System.nanoTime() - t0;
+            if (threads != null) bytes += threads.getThreadAllocatedBytes(threadId) - a0;
+            explored += solver.cellsExploredCount;
+            progress.report(++done, total);
+        }
+        long[] sorted = Arrays.copyOf(samples, runs);
+        Arrays.sort(sorted);
+        return new SolveStats(algorithm, sorted, found, explored, bytes);
+    }
+
+    // Maze kecil tidak pernah sampai checkpoint SearchContext, jadi cek juga di antara run
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Benchmark cancelled");
+    }
+
+    private static MazeSolver newSolver(MazeGrid grid) {
+        MazeSolver solver = new MazeSolver(grid);
+        solver.setRecordTrace(false); // Yang diukur pencariannya, bukan bookkeeping animasi
+        return solver;
+    }
+
+    // Penghitung alokasi per thread (HotSpot), null kalau tidak tersedia
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) return null;
+        if (!threads.isThreadAllocatedMemoryEnabled()) threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    // --- STATISTIK (juga dipakai mode benchmark di UI) ---
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    static double mean(long[] values) {
+        if (values.length == 0) return 0;
+        double sum = 0;
+        for (long v : values) sum += v;
+        return sum / values.length;
+    }
+}
@@ -0,0 +1,209 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CancellationException;
+
+// Format file maze biner:
+//
+//   header 64 byte  : magic "MAZE", version, flags, rows (long), cols, seed (long),
+//                     nama generator (ASCII, 16 byte), jumlah landmark (int), sisanya reserved
+//   wall plane      : per baris bytesPerRow(cols) byte, 2 bit per sel (sama dengan EllerGenerator)
+//   terrain plane   : 1 byte kode terrain per sel (hanya kalau flag HAS_TERRAIN)
+//   landmarks       : sel landmark (int x jumlah), lalu tabel Landmarks.dist apa adanya
+//                     (int x sel x jumlah, interleaved). Hanya kalau flag HAS_LANDMARKS.
+//
+// Simpan dan tulis header dilakukan per baris lewat buffer kecil, tidak pernah menyalin
+// seluruh grid. Untuk membaca tanpa copy pakai MappedMaze.open(path).
+public final class MazeFile {
+    static final int MAGIC = 0x4D415A45; // "MAZE"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int FLAG_HAS_TERRAIN = 1;
+    static final int FLAG_HAS_LANDMARKS = 2;
+    private static final int GENERATOR_NAME_LENGTH = 16;
+    private static final int COPY_CHECK = 1 << 16;
+
+    public final long rows;
+    public final int cols;
+    public final long seed;
+    public final String generator;
+    public final int flags;
+    public final int landmarkCount;
+
+    MazeFile(long rows, int cols, long seed, String generator, int flags, int landmarkCount) {
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.generator = generator;
+        this.flags = flags;
+        this.landmarkCount = landmarkCount;
+    }
+
+    public boolean hasTerrain() { return (flags & FLAG_HAS_TERRAIN) != 0; }
+    public boolean hasLandmarks() { return (flags & FLAG_HAS_LANDMARKS) != 0; }
+    public static int bytesPerRow(int cols) { return EllerGenerator.bytesPerRow(cols); }
+    long terrainOffset() { return HEADER_SIZE + rows * bytesPerRow(cols); }
+    long landmarkOffset() { return terrainOffset() + (hasTerrain() ? rows * cols : 0); }
+    long fileSize() { return landmarkOffset() + (hasLandmarks() ? 4L * landmarkCount * (1 + rows * cols) : 0); }
+
+    // --- HEADER ---
+    static void writeHeader(FileChannel ch, long rows, int cols, long seed, String generator, int flags) throws IOException {
+        writeHeader(ch, rows, cols, seed, generator, flags, 0);
+    }
+
+    static void writeHeader(FileChannel ch, long rows, int cols, long seed, String generator, int flags, int landmarkCount) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(flags).putLong(rows).putInt(cols).putLong(seed);
+        byte[] name = generator.getBytes(StandardCharsets.US_ASCII);
+        buf.put(name, 0, Math.min(name.length, GENERATOR_NAME_LENGTH));
+        buf.position(48);
+        buf.putInt(landmarkCount);
+        buf.clear();
+        ch.position(0);
+        while (buf.hasRemaining()) ch.write(buf);
+    }
+
+    public static MazeFile readHeader(FileChannel ch) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+        ch.position(0);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) throw new IOException("Not a maze file: header too short");
+        }
+        buf.flip();
+        if (buf.getInt() != MAGIC) throw new IOException("Not a maze file: bad magic");
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException("Unsupported maze file version " + version);
+        int flags = buf.getInt();
+        long rows = buf.getLong();
+        int cols = buf.getInt();
+        long seed = buf.getLong();
+        byte[] name = new byte[GENERATOR_NAME_LENGTH];
+        buf.get(name);
+        int landmarkCount = buf.getInt();
+        int len = 0;
+        while (len < name.length && name[len] != 0) len++;
+        MazeFile header = new MazeFile(rows, cols, seed, new String(name, 0, len, StandardCharsets.US_ASCII), flags, landmarkCount);
+        if (rows <= 0 || cols <= 0 || landmarkCount < 0 || ch.size() < header.fileSize()) throw new IOException("Corrupt maze file: size does not match header");
+        return header;
+    }
+
+    // --- SIMPAN ---
+    public static void save(MazeGenerator gen, Path file) throws IOException {
+        save(gen.getGrid(), gen.getSeed(), gen.getAlgorithm(), file);
+    }
+
+    // Landmark ikut disimpan hanya kalau maze sudah punya tabel yang masih berlaku untuk versinya
+    // (mis. setelah A* (ALT) dipakai); tidak pernah dihitung di sini karena ~32 byte/sel
+    public static void save(Maze maze, long seed, String generator, Path file) throws IOException {
+        int rows = maze.getRows(), cols = maze.getCols();
+        Landmarks landmarks = maze.landmarks();
+        if (landmarks != null && landmarks.version != maze.version()) landmarks = null;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int flags = FLAG_HAS_TERRAIN | (landmarks != null ? FLAG_HAS_LANDMARKS : 0);
+            writeHeader(ch, rows, cols, seed, generator, flags, landmarks != null ? landmarks.count : 0);
+            ch.position(HEADER_SIZE);
+            int rowBytes = bytesPerRow(cols);
+            ByteBuffer buf = ByteBuffer.allocateDirect(Math.max(rowBytes, Math.max(cols, 1 << 16)));
+
+            for (int r = 0; r < rows; r++) {
+                if (buf.remaining() < rowBytes) flush(buf, ch);
+                int packed = 0, shift = 0;
+                for (int c = 0; c < cols; c++) {
+                    int w = maze.walls(r * cols + c);
+                    int bits = ((w & MazeGrid.RIGHT) != 0 ? EllerGenerator.RIGHT_BIT : 0)
+                            | ((w & MazeGrid.BOTTOM) != 0 ? EllerGenerator.BOTTOM_BIT : 0);
+                    packed |= bits << shift;
+                    shift += 2;
+                    if (shift == 8) { buf.put((byte) packed); packed = 0; shift = 0; }
+                }
+                if (shift != 0) buf.put((byte) packed);
+            }
+            for (int r = 0; r < rows; r++) {
+                if (buf.remaining() < cols) flush(buf, ch);
+                for (int c = 0; c < cols; c++) buf.put((byte) maze.terrain(r * cols + c));
+            }
+            if (landmarks != null) {
+                putInts(landmarks.cells, buf, ch);
+                putInts(landmarks.dist, buf, ch);
+            }
+            flush(buf, ch);
+        }
+    }
+
+    private static void putInts(int[] values, ByteBuffer buf, FileChannel ch) throws IOException {
+        for (int v : values) {
+            if (buf.remaining() < 4) flush(buf, ch);
+            buf.putInt(v);
+        }
+    }
+
+    private static void flush(ByteBuffer buf, FileChannel ch) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+    }
+
+    // Bagian landmark dibaca ke heap (tidak di-map): int[] dipakai langsung oleh heuristik
+    static Landmarks readLandmarks(FileChannel ch, MazeFile header, int version) throws IOException {
+        int count = header.landmarkCount;
+        if (header.rows * header.cols * count > Integer.MAX_VALUE - 8) throw new IOException("Landmark section too large to load");
+        int[] cells = new int[count];
+        int[] dist = new int[(int) (header.rows * header.cols) * count];
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16);
+        long pos = header.landmarkOffset();
+        pos = readInts(ch, pos, cells, buf);
+        readInts(ch, pos, dist, buf);
+        return new Landmarks(version, cells, dist);
+    }
+
+    private static long readInts(FileChannel ch, long pos, int[] out, ByteBuffer buf) throws IOException {
+        int i = 0;
+        while (i < out.length) {
+            buf.clear();
+            buf.limit(Math.min(buf.capacity(), (out.length - i) * 4));
+            while (buf.hasRemaining()) {
+                int read = ch.read(buf, pos);
+                if (read < 0) throw new IOException("Corrupt maze file: landmark section truncated");
+                pos += read;
+            }
+            buf.flip();
+            while (buf.hasRemaining()) out[i++] = buf.getInt();
+        }
+        return pos;
+    }
+
+    // --- MUAT KE HEAP ---
+    // Menyalin isi file ke MazeGrid (untuk UI / editing). Solver bisa langsung pakai MappedMaze.
+    public static MazeGrid load(Path file) throws IOException {
+        try (MappedMaze mapped = MappedMaze.open(file)) {
+            return toGrid(mapped);
+        }
+    }
+
+    static MazeGrid toGrid(Maze source) {
+        return toGrid(source, null);
+    }
+
+    // progress.report(sel tersalin, total) tiap COPY_CHECK sel; berhenti dengan CancellationException
+    // kalau thread di-interrupt (load di UI)
+    static MazeGrid toGrid(Maze source, SearchContext.Progress progress) {
+        int cols = source.getCols();
+        MazeGrid grid = new MazeGrid(source.getRows(), cols);
+        for (int i = 0; i < grid.size(); i++) {
+            if ((i & (COPY_CHECK - 1)) == 0) {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException("Load cancelled");
+                if (progress != null) progress.report(i, grid.size());
+            }
+            int w = source.walls(i);
+            if ((w & MazeGrid.RIGHT) == 0) grid.removeWall(i, i + 1);
+            if ((w & MazeGrid.BOTTOM) == 0) grid.removeWall(i, i + cols);
+            grid.setTerrain(i, source.terrain(i));
+        }
+        Landmarks landmarks = source.landmarks();
+        if (landmarks != null && landmarks.version == source.version()) grid.setLandmarks(landmarks.forVersion(grid.version()));
+        return grid;
+    }
+}
@@ -1,79 +1,190 @@
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.stream.IntStream;
 
 public class MazeGenerator {
     private int rows, cols;
-    private Cell[][] grid;
+    private MazeGrid grid;
     private Random random = new Random();
+    private long seed;
+    private String algorithm = "None"; // Generator terakhir yang dipakai (disimpan di header MazeFile)
 
-    public MazeGenerator(int rows, int cols) { resize(rows, cols); }
+    private static final int[][] DIRS = {{-1,0}, {1,0}, {0,-1}, {0,1}};
+    private final int[] candidates = new int[4]; // Buffer tetangga visited untuk Prim
+
+    public MazeGenerator(int rows, int cols) {
+        resize(rows, cols);
+        setSeed(System.nanoTime());
+    }
+
+    // Seed tetap -> maze yang sama persis (untuk benchmark & batch run)
+    public MazeGenerator(int rows, int cols, long seed) {
+        this(rows, cols);
+        setSeed(seed);
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+    }
+
+    public long getSeed() { return seed; }
+    public String getAlgorithm() { return algorithm; }
 
     public void resize(int newRows, int newCols) {
         this.rows = newRows;
         this.cols = newCols;
-        this.grid = new Cell[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                grid[i][j] = new Cell(i, j);
-            }
-        }
+        this.grid = new MazeGrid(rows, cols);
     }
 
-    public Cell[][] getGrid() { return grid; }
+    public MazeGrid getGrid() { return grid; }
     public int getRows() { return rows; }
     public int getCols() { return cols; }
 
+    // Frontier disimpan sebagai array int + bitset keanggotaan: cek "sudah di frontier?" O(1),
+    // dan ambil acak pakai swap-remove (tukar dengan elemen terakhir) jadi tidak ada geser list.
     public void generatePrim() {
-        resetGridData();
-        List<Cell> frontier = new ArrayList<>();
-        Cell start = grid[0][0];
-        start.visited = true;
-        addFrontier(start, frontier);
-
-        while (!frontier.isEmpty()) {
-            Cell current = frontier.remove(random.nextInt(frontier.size()));
-            List<Cell> visitedNeighbors = getVisitedNeighbors(current);
-            if (!visitedNeighbors.isEmpty()) {
-                Cell neighbor = visitedNeighbors.get(random.nextInt(visitedNeighbors.size()));
-                current.removeWall(neighbor);
-                current.visited = true;
-                addFrontier(current, frontier);
+        grid.reset();
+        algorithm = "Prim";
+        int n = rows * cols;
+        long[] visited = new long[(n + 63) >>> 6];
+        long[] inFrontier = new long[(n + 63) >>> 6];
+        int[] frontier = new int[n];
+        int frontierSize = 0;
+
+        setBit(visited, 0);
+        frontierSize = addFrontier(0, visited, inFrontier, frontier, frontierSize);
+
+        while (frontierSize > 0) {
+            int pick = random.nextInt(frontierSize);
+            int current = frontier[pick];
+            frontier[pick] = frontier[--frontierSize];
+
+            // Pilih satu tetangga yang sudah visited secara acak (selalu ada minimal satu)
+            int count = 0;
+            for (int d = 0; d < 4; d++) {
+                int nb = neighbor(current, d);
+                if (nb >= 0 && getBit(visited, nb)) candidates[count++] = nb;
+            }
+            if (count > 0) {
+                grid.removeWall(current, candidates[random.nextInt(count)]);
+                setBit(visited, current);
+                frontierSize = addFrontier(current, visited, inFrontier, frontier, frontierSize);
             }
         }
     }
 
     public void generateKruskal() {
-        resetGridData();
-        List<Edge> edges = new ArrayList<>();
+        grid.reset();
+        algorithm = "Kruskal";
+        kruskalRect(0, 0, rows, cols, random);
+        grid.touch();
+    }
+
+    // --- GENERATE PARALEL PER TILE ---
+    // Grid dipecah jadi tile tileSize x tileSize. Tiap tile di-generate (Kruskal) di core sendiri
+    // dengan Random dari seed tile-nya, lalu antar tile disambung lewat union-find atas edge
+    // perbatasan. Hasilnya tetap satu spanning tree, dan sama persis untuk seed yang sama
+    // berapapun jumlah thread-nya (thread hanya menentukan siapa yang mengerjakan tile mana).
+    //
+    // Tile dikerjakan parallel stream di pool tempat pemanggil berjalan (common pool, atau pool
+    // BatchSolver kalau dipanggil dari sana), jadi tidak ada thread tambahan per panggilan.
+    public void generateTiled(int tileSize) {
+        generateTiled(tileSize, true);
+    }
+
+    public void generateTiled(int tileSize, boolean parallel) {
+        if (tileSize <= 0) throw new IllegalArgumentException("Tile size must be > 0: " + tileSize);
+        grid.reset();
+        algorithm = "Tiled";
+        int tileRows = (rows + tileSize - 1) / tileSize, tileCols = (cols + tileSize - 1) / tileSize;
+        int tiles = tileRows * tileCols;
+        long baseSeed = random.nextLong();
+
+        // Tiap tile hanya menulis byte dinding sel miliknya sendiri (openWall, tanpa version++),
+        // jadi aman dikerjakan paralel; version dinaikkan sekali setelah semua tile selesai
+        Thread caller = Thread.currentThread(); // Worker pool tidak ikut di-interrupt, cek thread pemanggil
+        IntStream tileIds = IntStream.range(0, tiles);
+        (parallel ? tileIds.parallel() : tileIds).forEach(t -> {
+            if (caller.isInterrupted()) throw new CancellationException("Tiled generation interrupted");
+            int r0 = (t / tileCols) * tileSize, c0 = (t % tileCols) * tileSize;
+            Random tileRandom = new Random(baseSeed + t * 0x9E3779B97F4A7C15L);
+            kruskalRect(r0, c0, Math.min(tileSize, rows - r0), Math.min(tileSize, cols - c0), tileRandom);
+        });
+        grid.touch();
+
+        // Stitching: kumpulkan edge perbatasan antar tile, acak (deterministik), lalu buka
+        // dinding hanya kalau kedua tile belum tersambung.
+        IntList boundary = new IntList();
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                if (r < rows - 1) edges.add(new Edge(grid[r][c], grid[r+1][c]));
-                if (c < cols - 1) edges.add(new Edge(grid[r][c], grid[r][c+1]));
+                int id = r * cols + c;
+                if (r < rows - 1 && (r + 1) % tileSize == 0) boundary.add(id * 2);
+                if (c < cols - 1 && (c + 1) % tileSize == 0) boundary.add(id * 2 + 1);
+            }
+        }
+        int[] edges = boundary.toArray();
+        shuffle(edges, edges.length, random);
+        int[] tileParent = new int[tiles];
+        for (int i = 0; i < tiles; i++) tileParent[i] = i;
+        for (int e : edges) {
+            int a = e >>> 1, b = (e & 1) == 0 ? a + cols : a + 1;
+            int ta = find(tileParent, (a / cols / tileSize) * tileCols + (a % cols) / tileSize);
+            int tb = find(tileParent, (b / cols / tileSize) * tileCols + (b % cols) / tileSize);
+            if (ta != tb) {
+                tileParent[ta] = tb;
+                grid.removeWall(a, b);
+            }
+        }
+    }
+
+    // Kruskal di dalam persegi [r0, r0+h) x [c0, c0+w). Edge dikodekan sebagai int:
+    // index lokal * 2 + (0 = ke bawah, 1 = ke kanan), jadi tidak ada objek Edge.
+    // Tidak menaikkan version grid; pemanggil memanggil grid.touch() setelahnya.
+    private void kruskalRect(int r0, int c0, int h, int w, Random rnd) {
+        int[] edges = new int[2 * h * w];
+        int count = 0;
+        for (int r = 0; r < h; r++) {
+            for (int c = 0; c < w; c++) {
+                int local = r * w + c;
+                if (r < h - 1) edges[count++] = local * 2;
+                if (c < w - 1) edges[count++] = local * 2 + 1;
             }
         }
-        Collections.shuffle(edges);
-        int[] parent = new int[rows * cols];
+        shuffle(edges, count, rnd);
+        int[] parent = new int[h * w];
         for (int i = 0; i < parent.length; i++) parent[i] = i;
 
-        for (Edge edge : edges) {
-            int id1 = edge.c1.row * cols + edge.c1.col;
-            int id2 = edge.c2.row * cols + edge.c2.col;
-            if (find(parent, id1) != find(parent, id2)) {
-                edge.c1.removeWall(edge.c2);
-                union(parent, id1, id2);
+        for (int i = 0; i < count; i++) {
+            int e = edges[i];
+            int a = e >>> 1, b = (e & 1) == 0 ? a + w : a + 1;
+            int ra = find(parent, a), rb = find(parent, b);
+            if (ra != rb) {
+                parent[ra] = rb;
+                grid.openWall((r0 + a / w) * cols + c0 + a % w, (r0 + b / w) * cols + c0 + b % w);
             }
         }
     }
 
+    // Fisher-Yates untuk 'count' elemen pertama
+    private static void shuffle(int[] a, int count, Random rnd) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
     // --- FITUR BARU: MEMBUAT BANYAK SOLUSI ---
     public void addLoops(double probability) {
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
+                int id = grid.index(r, c);
                 // Jangan hapus dinding border luar
                 if (r < rows - 1 && random.nextDouble() < probability) {
-                    grid[r][c].removeWall(grid[r+1][c]); // Hapus dinding bawah acak
+                    grid.removeWall(id, id + cols); // Hapus dinding bawah acak
                 }
                 if (c < cols - 1 && random.nextDouble() < probability) {
-                    grid[r][c].removeWall(grid[r][c+1]); // Hapus dinding kanan acak
+                    grid.removeWall(id, id + 1); // Hapus dinding kanan acak
                 }
             }
         }
@@ -82,40 +193,42 @@ public class MazeGenerator {
     public void generateTerrain() {
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
+                int id = grid.index(i, j);
                 if ((i == 0 && j == 0) || (i == rows-1 && j == cols-1)) {
-                    grid[i][j].setTerrain("Default");
+                    grid.setTerrain(id, MazeGrid.DEFAULT);
                     continue;
                 }
                 double chance = random.nextDouble();
-                if (chance < 0.03) grid[i][j].setTerrain("Water");
-                else if (chance < 0.08) grid[i][j].setTerrain("Mud");
-                else if (chance < 0.15) grid[i][j].setTerrain("Grass");
-                else grid[i][j].setTerrain("Default");
+                if (chance < 0.03) grid.setTerrain(id, MazeGrid.WATER);
+                else if (chance < 0.08) grid.setTerrain(id, MazeGrid.MUD);
+                else if (chance < 0.15) grid.setTerrain(id, MazeGrid.GRASS);
+                else grid.setTerrain(id, MazeGrid.DEFAULT);
             }
         }
     }
 
-    private void resetGridData() {
-        for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) grid[i][j] = new Cell(i, j);
-    }
-    private void addFrontier(Cell cell, List<Cell> frontier) {
-        int[][] dirs = {{-1,0}, {1,0}, {0,-1}, {0,1}};
-        for(int[] d : dirs) {
-            int nr = cell.row + d[0], nc = cell.col + d[1];
-            if(isValid(nr, nc) && !grid[nr][nc].visited && !frontier.contains(grid[nr][nc])) frontier.add(grid[nr][nc]);
+    private int addFrontier(int cell, long[] visited, long[] inFrontier, int[] frontier, int size) {
+        for (int d = 0; d < 4; d++) {
+            int nb = neighbor(cell, d);
+            if (nb >= 0 && !getBit(visited, nb) && !getBit(inFrontier, nb)) {
+                setBit(inFrontier, nb);
+                frontier[size++] = nb;
+            }
         }
+        return size;
     }
-    private List<Cell> getVisitedNeighbors(Cell cell) {
-        List<Cell> list = new ArrayList<>();
-        int[][] dirs = {{-1,0}, {1,0}, {0,-1}, {0,1}};
-        for(int[] d : dirs) {
-            int nr = cell.row + d[0], nc = cell.col + d[1];
-            if(isValid(nr, nc) && grid[nr][nc].visited) list.add(grid[nr][nc]);
-        }
-        return list;
+
+    // Index tetangga ke arah DIRS[d], atau -1 kalau di luar grid
+    private int neighbor(int cell, int d) {
+        int nr = cell / cols + DIRS[d][0], nc = cell % cols + DIRS[d][1];
+        return isValid(nr, nc) ? nr * cols + nc : -1;
     }
+    private static boolean getBit(long[] bits, int i) { return (bits[i >>> 6] & (1L << i)) != 0; }
+    private static void setBit(long[] bits, int i) { bits[i >>> 6] |= 1L << i; }
     private boolean isValid(int r, int c) { return r >= 0 && r < rows && c >= 0 && c < cols; }
-    private int find(int[] parent, int i) { return (parent[i] == i) ? i : (parent[i] = find(parent, parent[i])); }
-    private void union(int[] parent, int i, int j) { parent[find(parent, i)] = find(parent, j); }
-    private static class Edge { Cell c1, c2; Edge(Cell c1, Cell c2) { this.c1 = c1; this.c2 = c2; } }
-}
\ No newline at end of file
+    // Iteratif dengan path halving, supaya tidak stack overflow di maze besar
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) { parent[i] = parent[parent[i]]; i = parent[i]; }
+        return i;
+    }
+}
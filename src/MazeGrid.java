@@ -0,0 +1,89 @@
+// Representasi maze yang ringkas: satu byte dinding + satu byte terrain per sel.
+// Sel dialamatkan dengan index = row * cols + col. Class ini tidak boleh menyentuh AWT
+// supaya generator dan solver tetap bisa jalan headless.
+public class MazeGrid implements Maze {
+    // Bit dinding (satu nibble per sel)
+    public static final int TOP = 1, RIGHT = 2, BOTTOM = 4, LEFT = 8;
+    public static final int ALL_WALLS = TOP | RIGHT | BOTTOM | LEFT;
+
+    // Kode terrain -> bobot
+    public static final byte DEFAULT = 0, GRASS = 1, MUD = 2, WATER = 3;
+    private static final int[] WEIGHTS = {1, 2, 5, 10};
+    private static final String[] TERRAIN_NAMES = {"Default", "Grass", "Mud", "Water"};
+
+    private final int rows, cols;
+    private final byte[] walls;
+    private final byte[] terrain;
+    private int version; // Naik setiap dinding/terrain berubah (seperti modCount), untuk cache turunan
+    private volatile Landmarks landmarks;
+
+    public MazeGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = new byte[rows * cols];
+        this.terrain = new byte[rows * cols];
+        java.util.Arrays.fill(walls, (byte) ALL_WALLS);
+    }
+
+    @Override public int getRows() { return rows; }
+    @Override public int getCols() { return cols; }
+    @Override public int size() { return walls.length; }
+
+    @Override public int index(int row, int col) { return row * cols + col; }
+    @Override public int row(int index) { return index / cols; }
+    @Override public int col(int index) { return index % cols; }
+    @Override public int version() { return version; }
+    @Override public Landmarks landmarks() { return landmarks; }
+    public void setLandmarks(Landmarks landmarks) { this.landmarks = landmarks; }
+
+    // --- DINDING ---
+    @Override public int walls(int index) { return walls[index]; }
+    @Override public boolean hasWall(int index, int dir) { return (walls[index] & dir) != 0; }
+
+    // Hapus dinding antara dua sel yang bertetangga (sama seperti Cell.removeWall dulu)
+    public void removeWall(int a, int b) {
+        openWall(a, b);
+        version++;
+    }
+
+    // Tanpa menaikkan version: untuk generator yang menulis paralel (tiap thread hanya byte sel
+    // miliknya). Pemanggil wajib memanggil touch() sekali setelah semua thread selesai.
+    void openWall(int a, int b) {
+        int diff = b - a;
+        if (diff == cols) { walls[a] &= ~BOTTOM; walls[b] &= ~TOP; }
+        else if (diff == -cols) { walls[a] &= ~TOP; walls[b] &= ~BOTTOM; }
+        else if (diff == 1) { walls[a] &= ~RIGHT; walls[b] &= ~LEFT; }
+        else if (diff == -1) { walls[a] &= ~LEFT; walls[b] &= ~RIGHT; }
+    }
+
+    void touch() { version++; }
+
+    // --- TERRAIN ---
+    @Override public int terrain(int index) { return terrain[index]; }
+    @Override public int weight(int index) { return WEIGHTS[terrain[index]]; }
+    public void setTerrain(int index, int code) {
+        if (code < DEFAULT || code > WATER) throw new IllegalArgumentException("Unknown terrain code: " + code);
+        terrain[index] = (byte) code;
+        version++;
+    }
+    public String terrainName(int index) { return TERRAIN_NAMES[terrain[index]]; }
+
+    public static int terrainCode(String type) {
+        switch (type) {
+            case "Grass": return GRASS;
+            case "Mud": return MUD;
+            case "Water": return WATER;
+            default: return DEFAULT;
+        }
+    }
+
+    public static int weightOf(int code) { return WEIGHTS[code]; }
+    public static int maxWeight() { return WEIGHTS[WATER]; }
+
+    // Reset semua dinding + terrain (dipakai sebelum generate ulang)
+    public void reset() {
+        java.util.Arrays.fill(walls, (byte) ALL_WALLS);
+        java.util.Arrays.fill(terrain, DEFAULT);
+        version++;
+    }
+}
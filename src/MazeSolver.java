@@ -1,203 +1,201 @@
-import java.util.*;
+import java.util.Collections;
+import java.util.List;
 
 public class MazeSolver {
-    private Cell[][] grid;
-    private int rows, cols;
-
-    public List<Cell> explorationSteps = new ArrayList<>();
-    public List<Cell> finalPath = new ArrayList<>();
+    public static final String[] ALGORITHMS = {"BFS", "DFS", "Dijkstra", "A*", "A* (ALT)", "Dijkstra (Dial)", "A* (Dial)",
+            "Bidirectional BFS", "Bidirectional Dijkstra", "Bidirectional A*", "Corridor Dijkstra", "Corridor A*", "HPA*"};
+    // Planner inkremental punya state antar solve, jadi hanya tersedia lewat MazeSolver (bukan SearchEngine)
+    public static final String INCREMENTAL = "LPA* (Incremental)";
+    // Turun dari DistanceField goal yang di-cache engine: solve pertama = Dijkstra penuh dari goal,
+    // start lain ke goal yang sama O(panjang path)
+    public static final String DISTANCE_FIELD = "Distance Field";
+    public static final int ALTERNATIVES = 10; // K untuk solveAlternative
+
+    private Maze grid;
+    private SearchEngine engine;
+    private SearchContext context; // Milik solver ini saja; query paralel pakai engine + context sendiri
+    private IncrementalPlanner planner; // Dibuat saat INCREMENTAL pertama kali dipakai di grid ini
+    private int start, end; // Dari solve terakhir, dipakai lagi oleh solveAlternative
+    private SearchContext.Progress progress; // Dipanggil dari thread yang menjalankan solve
+    private boolean recordTrace = true;
+
+    // Isi: index sel (row * cols + col)
+    public ExplorationTrace explorationSteps;
+    public IntList finalPath = new IntList();
+    public List<SearchEngine.PathResult> alternatives = Collections.emptyList(); // K shortest paths terakhir
 
     public int cellsExploredCount = 0;
+    public int cellsExploredForward = 0, cellsExploredBackward = 0; // Per frontier (mundur = 0 untuk satu arah)
+    public int abstractExpanded = 0, refinedExpanded = 0; // HPA*: node abstrak vs sel (sambung + refine)
     public int pathCost = 0;
     public int pathLength = 0;
     public long executionTime = 0;
 
-    public MazeSolver(Cell[][] grid) { updateGrid(grid); }
+    public MazeSolver(Maze grid) { updateGrid(grid); }
 
-    public void updateGrid(Cell[][] grid) {
+    public void updateGrid(Maze grid) {
         this.grid = grid;
-        this.rows = grid.length;
-        this.cols = grid[0].length;
+        this.start = 0;
+        this.end = grid.size() - 1;
+        this.engine = new SearchEngine(grid);
+        if (context == null || context.capacity < grid.size()) context = new SearchContext(grid.size());
+        context.getTrace().setEnabled(recordTrace);
+        this.explorationSteps = context.getTrace();
+        this.planner = null;
+        context.setProgress(progress);
+    }
+
+    public SearchEngine getEngine() { return engine; }
+
+    // Matikan trace eksplorasi untuk benchmark/batch: tidak ada animasi, waktu & memori solve bersih
+    public void setRecordTrace(boolean recordTrace) {
+        this.recordTrace = recordTrace;
+        context.getTrace().setEnabled(recordTrace);
+        if (planner != null) planner.getTrace().setEnabled(recordTrace);
+    }
+
+    // Laporan progres (explored, frontier) selama solve; solve bisa dibatalkan dengan meng-interrupt
+    // thread pemanggil (CancellationException). null = tanpa laporan.
+    public void setProgress(SearchContext.Progress progress) {
+        this.progress = progress;
+        context.setProgress(progress);
+        if (planner != null) planner.setProgress(progress);
     }
 
     // --- MAIN SOLVER ---
+    // Default: pojok kiri atas -> pojok kanan bawah
     public boolean solve(String algorithm) {
-        return solveInternal(algorithm, new ArrayList<>()); // Solve normal
+        return solve(algorithm, 0, grid.size() - 1);
     }
 
-    // --- ALTERNATIVE SOLVER ---
-    // Mencari jalan selain yang ada di 'excludePath'
-    public boolean solveAlternative(String algorithm, List<Cell> previousPath) {
-        // Logika: Naikkan 'cost' dari sel yang sudah dipakai di path sebelumnya
-        // agar algoritma dipaksa mencari jalan memutar.
-        for (Cell c : previousPath) {
-            c.weight += 1000; // Penalty besar
+    // start/end = index sel (row * cols + col)
+    public boolean solve(String algorithm, int start, int end) {
+        if (start < 0 || start >= grid.size() || end < 0 || end >= grid.size()) {
+            throw new IllegalArgumentException("Cell out of range: " + start + " -> " + end + " (size " + grid.size() + ")");
         }
+        this.start = start;
+        this.end = end;
+        return solveInternal(algorithm);
+    }
 
-        boolean found = solveInternal(algorithm, new ArrayList<>());
+    // --- ALTERNATIVE SOLVER ---
+    // Path terbaik berikutnya (start/end dari solve terakhir) setelah 'previousPath' di antara
+    // K shortest loopless paths (Yen), dengan cost persis dan tanpa mengubah grid. Kalau previousPath tidak ada di daftar
+    // (mis. hasil DFS), ambil path terbaik yang berbeda darinya.
+    public boolean solveAlternative(IntList previousPath) {
+        finalPath.clear();
+        pathCost = 0;
+        pathLength = 0;
+
+        alternatives = engine.kShortestPaths(start, end, ALTERNATIVES, progress);
+        context.getTrace().clear(); // Tidak ada animasi eksplorasi, langsung path
+        explorationSteps = context.getTrace();
+        cellsExploredCount = cellsExploredForward = alternatives.isEmpty() ? 0 : alternatives.get(0).cellsExplored;
+        cellsExploredBackward = abstractExpanded = refinedExpanded = 0;
+        executionTime = alternatives.isEmpty() ? 0 : alternatives.get(0).timeUs;
 
-        // Kembalikan weight ke semula
-        for (Cell c : previousPath) {
-            c.weight -= 1000;
+        int next = 0;
+        for (int i = 0; i < alternatives.size(); i++) {
+            if (sameCells(alternatives.get(i).path, previousPath)) { next = i + 1; break; }
         }
-        return found;
+        if (next >= alternatives.size()) return false;
+
+        SearchEngine.PathResult result = alternatives.get(next);
+        for (int c : result.path) finalPath.add(c);
+        pathCost = result.pathCost;
+        pathLength = result.path.length;
+        return true;
+    }
+
+    private static boolean sameCells(int[] path, IntList cells) {
+        if (path.length != cells.size()) return false;
+        for (int i = 0; i < path.length; i++) if (path[i] != cells.get(i)) return false;
+        return true;
     }
 
-    private boolean solveInternal(String algorithm, List<Cell> ignoreList) {
-        explorationSteps.clear();
+    private boolean solveInternal(String algorithm) {
         finalPath.clear();
-        cellsExploredCount = 0;
         pathCost = 0;
         pathLength = 0;
 
-        for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) grid[i][j].resetSolverState();
-
-        Cell start = grid[0][0];
-        Cell end = grid[rows-1][cols-1];
+        if (algorithm.equals(INCREMENTAL)) return solveIncremental(start, end);
+        if (algorithm.equals(DISTANCE_FIELD)) return solveWithField(start, end);
+        explorationSteps = context.getTrace();
 
         long startTime = System.nanoTime();
-        boolean found = false;
-
-        switch(algorithm) {
-            case "BFS": found = bfs(start, end); break;
-            case "DFS": found = dfs(start, end); break;
-            case "Dijkstra": found = dijkstra(start, end); break;
-            case "A*": found = aStar(start, end); break;
-        }
+        boolean found = engine.solve(algorithm, start, end, context);
         long endTime = System.nanoTime();
         executionTime = (endTime - startTime) / 1000;
+        cellsExploredCount = context.getExplored();
+        cellsExploredBackward = context.getExploredBackward();
+        cellsExploredForward = cellsExploredCount - cellsExploredBackward;
+        abstractExpanded = context.getExploredAbstract();
+        refinedExpanded = cellsExploredCount - abstractExpanded;
 
         if(found) {
-            reconstructPath(end);
+            context.pathTo(end, finalPath);
             calculateStats();
         }
         return found;
     }
 
-    private void calculateStats() {
-        pathLength = finalPath.size();
-        pathCost = 0;
-        for(Cell c : finalPath) pathCost += (c.weight > 500 ? c.weight - 1000 : c.weight); // Adjust stat calc if penalty used
-    }
-
-    // Algoritma (Update: visited check di sini agar clean)
-    private boolean bfs(Cell start, Cell end) {
-        Queue<Cell> queue = new LinkedList<>();
-        queue.add(start);
-        Set<Cell> visited = new HashSet<>();
-        visited.add(start);
-
-        while(!queue.isEmpty()) {
-            Cell current = queue.poll();
-            explorationSteps.add(current);
-            cellsExploredCount++;
-            if(current == end) return true;
-            for(Cell neighbor : getNeighbors(current)) {
-                if(!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    neighbor.parent = current;
-                    queue.add(neighbor);
-                }
-            }
+    // Solve ulang di grid yang sama hanya memperbaiki bagian yang berubah sejak solve sebelumnya
+    private boolean solveIncremental(int start, int end) {
+        if (planner == null) {
+            planner = new IncrementalPlanner(grid, start, end);
+            planner.setProgress(progress);
+            planner.getTrace().setEnabled(recordTrace);
         }
-        return false;
-    }
+        planner.setStart(start);
+        planner.setGoal(end);
 
-    private boolean dfs(Cell start, Cell end) {
-        Stack<Cell> stack = new Stack<>();
-        stack.push(start);
-        Set<Cell> visited = new HashSet<>();
-        visited.add(start);
-
-        while(!stack.isEmpty()) {
-            Cell current = stack.pop();
-            explorationSteps.add(current);
-            cellsExploredCount++;
-            if(current == end) return true;
-            for(Cell neighbor : getNeighbors(current)) {
-                if(!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    neighbor.parent = current;
-                    stack.push(neighbor);
-                }
-            }
+        SolverMetrics.SolveEvent event = null;
+        if (SolverMetrics.ENABLED) {
+            event = new SolverMetrics.SolveEvent();
+            event.begin();
         }
-        return false;
-    }
-
-    private boolean dijkstra(Cell start, Cell end) {
-        PriorityQueue<Cell> pq = new PriorityQueue<>(Comparator.comparingInt(c -> c.gCost));
-        start.gCost = 0;
-        pq.add(start);
-        Set<Cell> visited = new HashSet<>();
-
-        while(!pq.isEmpty()) {
-            Cell current = pq.poll();
-            if(visited.contains(current)) continue;
-            visited.add(current);
-            explorationSteps.add(current);
-            cellsExploredCount++;
-            if(current == end) return true;
-
-            for(Cell neighbor : getNeighbors(current)) {
-                if(visited.contains(neighbor)) continue;
-                int newCost = current.gCost + neighbor.weight;
-                if(newCost < neighbor.gCost) {
-                    neighbor.gCost = newCost;
-                    neighbor.parent = current;
-                    pq.add(neighbor);
-                }
+        long startTime = System.nanoTime();
+        boolean found = false;
+        try {
+            found = planner.plan();
+        } finally {
+            executionTime = (System.nanoTime() - startTime) / 1000;
+            if (event != null) {
+                ExplorationTrace t = planner.getTrace();
+                SolverMetrics.record(INCREMENTAL, grid.size(), found, planner.getExpanded(), planner.counters,
+                        t.memoryBytes() + t.spilledBytes(), System.nanoTime() - startTime, event);
             }
         }
-        return false;
-    }
+        explorationSteps = planner.getTrace();
+        cellsExploredCount = cellsExploredForward = planner.getExpanded();
+        cellsExploredBackward = abstractExpanded = refinedExpanded = 0;
 
-    private boolean aStar(Cell start, Cell end) {
-        PriorityQueue<Cell> pq = new PriorityQueue<>(Comparator.comparingInt(c -> c.fCost));
-        start.gCost = 0;
-        start.hCost = Math.abs(end.row - start.row) + Math.abs(end.col - start.col);
-        start.fCost = start.gCost + start.hCost;
-        pq.add(start);
-        Set<Cell> visited = new HashSet<>();
-
-        while(!pq.isEmpty()) {
-            Cell current = pq.poll();
-            if(visited.contains(current)) continue;
-            visited.add(current);
-            explorationSteps.add(current);
-            cellsExploredCount++;
-            if(current == end) return true;
-
-            for(Cell neighbor : getNeighbors(current)) {
-                if(visited.contains(neighbor)) continue;
-                int tentativeGCost = current.gCost + neighbor.weight;
-                if(tentativeGCost < neighbor.gCost) {
-                    neighbor.parent = current;
-                    neighbor.gCost = tentativeGCost;
-                    neighbor.hCost = Math.abs(end.row - neighbor.row) + Math.abs(end.col - neighbor.col);
-                    neighbor.fCost = neighbor.gCost + neighbor.hCost;
-                    pq.add(neighbor);
-                }
-            }
+        if (found) {
+            pathCost = planner.pathTo(finalPath);
+            pathLength = finalPath.size();
         }
-        return false;
+        return found;
     }
 
-    private List<Cell> getNeighbors(Cell c) {
-        List<Cell> list = new ArrayList<>();
-        if(!c.topWall && c.row > 0) list.add(grid[c.row-1][c.col]);
-        if(!c.bottomWall && c.row < rows-1) list.add(grid[c.row+1][c.col]);
-        if(!c.leftWall && c.col > 0) list.add(grid[c.row][c.col-1]);
-        if(!c.rightWall && c.col < cols-1) list.add(grid[c.row][c.col+1]);
-        return list;
+    private boolean solveWithField(int start, int end) {
+        SearchEngine.PathResult result = engine.pathToGoal(start, end);
+        executionTime = result.timeUs;
+        context.getTrace().clear(); // Medan tidak punya urutan ekspansi untuk dianimasikan
+        explorationSteps = context.getTrace();
+        cellsExploredCount = cellsExploredForward = result.cellsExplored;
+        cellsExploredBackward = abstractExpanded = refinedExpanded = 0;
+
+        if (result.found) {
+            for (int c : result.path) finalPath.add(c);
+            pathCost = result.pathCost;
+            pathLength = result.path.length;
+        }
+        return result.found;
     }
 
-    private void reconstructPath(Cell end) {
-        Cell current = end;
-        while(current != null) {
-            finalPath.add(current);
-            current = current.parent;
-        }
-        Collections.reverse(finalPath);
+    private void calculateStats() {
+        pathLength = finalPath.size();
+        pathCost = 0;
+        for(int i = 0; i < finalPath.size(); i++) pathCost += grid.weight(finalPath.get(i)); // Penalti tidak ikut dihitung
     }
-}
\ No newline at end of file
+}
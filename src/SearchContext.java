@@ -0,0 +1,160 @@
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// State satu query pencarian (g, parent, visited, antrian, trace), terpisah dari topologi maze.
+// Tiap thread pakai context sendiri, jadi banyak query bisa jalan bersamaan di satu MazeGrid.
+//
+// Reset tidak menyapu seluruh grid: tiap sel punya stamp, dan data sel hanya dianggap valid
+// kalau stamp-nya milik query sekarang. Jadi biaya query sebanding dengan sel yang disentuh.
+public class SearchContext {
+    private static final ConcurrentLinkedQueue<SearchContext> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+    private static final int MAX_POOLED = 2 * Runtime.getRuntime().availableProcessors();
+
+    final int capacity;
+    final int[] gCost, parent;
+    private final int[] stamp; // == epoch: sudah disentuh (open), == epoch + 1: sudah ditutup (closed)
+    private int epoch = 0;
+
+    final IntQueue queue;
+    final IntList stack;
+    final LongMinHeap heap;
+    BucketQueue indexedQueue;
+
+    final ExplorationTrace trace = new ExplorationTrace();
+    int explored, exploredBackward, exploredAbstract;
+
+    // Progres & pembatalan untuk query di thread background (mis. SwingWorker di UI):
+    // tiap CHECK_INTERVAL ekspansi loop pencarian mengecek interrupt thread dan melapor ke progress.
+    public interface Progress { void report(int explored, int frontier); }
+    static final int CHECK_INTERVAL = 1 << 14;
+    Progress progress; // null = tidak ada yang memantau
+
+    // Counter detail per query. Hanya dihitung kalau SolverMetrics.ENABLED (static final, jadi saat
+    // mati cabangnya dibuang JIT); dijumlah dengan rantai partner saat dilaporkan.
+    int pushes, pops, stalePops, relaxations, peakFrontier;
+
+    private SearchContext partner; // Frontier mundur (dua arah) atau state graf junction (corridor), dibuat saat pertama dipakai
+
+    public SearchContext(int capacity) {
+        this.capacity = capacity;
+        gCost = new int[capacity];
+        parent = new int[capacity];
+        stamp = new int[capacity];
+        int initial = Math.min(capacity, 1 << 16);
+        queue = new IntQueue(initial);
+        stack = new IntList(initial);
+        heap = new LongMinHeap(initial);
+    }
+
+    // --- POOL ---
+    // Context pool dipakai query headless (findPath, batch, tabel), jadi trace-nya dimatikan
+    public static SearchContext acquire(int cells) {
+        SearchContext ctx;
+        while ((ctx = POOL.poll()) != null) {
+            POOLED.decrementAndGet();
+            if (ctx.capacity >= cells) return ctx;
+            // Terlalu kecil untuk maze ini, biarkan di-GC
+        }
+        ctx = new SearchContext(cells);
+        ctx.trace.setEnabled(false);
+        return ctx;
+    }
+
+    public void release() {
+        progress = null;
+        if (POOLED.incrementAndGet() <= MAX_POOLED) POOL.offer(this);
+        else POOLED.decrementAndGet();
+    }
+
+    // --- STATE PER QUERY ---
+    void begin() {
+        if (epoch >= Integer.MAX_VALUE - 2) { // Hampir overflow: sapu sekali lalu mulai lagi
+            Arrays.fill(stamp, 0);
+            epoch = 0;
+        }
+        epoch += 2;
+        queue.clear();
+        stack.clear();
+        heap.clear();
+        trace.clear();
+        explored = 0;
+        exploredBackward = 0;
+        exploredAbstract = 0;
+        if (SolverMetrics.ENABLED) resetCounters();
+    }
+
+    // Termasuk partner, yang mungkin tidak di-begin oleh query ini
+    private void resetCounters() {
+        for (SearchContext c = this; c != null; c = c.partner) {
+            c.pushes = c.pops = c.stalePops = c.relaxations = c.peakFrontier = 0;
+        }
+    }
+
+    void countPush() { if (SolverMetrics.ENABLED) pushes++; }
+    void countPop() { if (SolverMetrics.ENABLED) pops++; }
+    void countStale() { if (SolverMetrics.ENABLED) stalePops++; } // Entry basi (sudah closed) yang di-skip
+    void countRelax() { if (SolverMetrics.ENABLED) relaxations++; } // Sisi yang diperiksa
+
+    // Jumlah counter ctx + semua partner: {pushes, pops, stalePops, relaxations}
+    int[] counters() {
+        int[] sum = new int[4];
+        for (SearchContext c = this; c != null; c = c.partner) {
+            sum[0] += c.pushes;
+            sum[1] += c.pops;
+            sum[2] += c.stalePops;
+            sum[3] += c.relaxations;
+        }
+        return sum;
+    }
+
+    // Context kedua (sudah di-begin) dengan kapasitas yang sama
+    SearchContext partner() {
+        if (partner == null) partner = new SearchContext(capacity);
+        partner.begin();
+        return partner;
+    }
+
+    public void setProgress(Progress progress) { this.progress = progress; }
+
+    // Dipanggil setelah tiap ekspansi; hanya tiap CHECK_INTERVAL yang benar-benar bekerja
+    void tick(int frontier) {
+        if (SolverMetrics.ENABLED && frontier > peakFrontier) peakFrontier = frontier;
+        if ((explored & (CHECK_INTERVAL - 1)) == 0) checkpoint(explored, frontier);
+    }
+
+    // Lempar CancellationException kalau thread di-interrupt, lalu lapor progres
+    void checkpoint(int count, int frontier) {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Search cancelled");
+        if (progress != null) progress.report(count, frontier);
+    }
+
+    boolean isTouched(int c) { return stamp[c] >= epoch; }
+    boolean isClosed(int c) { return stamp[c] == epoch + 1; }
+    void close(int c) { stamp[c] = epoch + 1; }
+
+    int g(int c) { return stamp[c] >= epoch ? gCost[c] : Integer.MAX_VALUE; }
+
+    void open(int c, int g, int from) {
+        if (stamp[c] < epoch) stamp[c] = epoch;
+        gCost[c] = g;
+        parent[c] = from;
+    }
+
+    int parentOf(int c) { return stamp[c] >= epoch ? parent[c] : -1; }
+
+    // Trace ekspansi & jumlah sel yang dieksplor dari query terakhir
+    public ExplorationTrace getTrace() { return trace; }
+    public int getExplored() { return explored; }
+    public int getExploredBackward() { return exploredBackward; } // Bagian dari explored milik frontier mundur
+    public int getExploredAbstract() { return exploredAbstract; } // Bagian dari explored berupa node abstrak (HPA*)
+
+    // Path dari start ke 'end' mengikuti parent (urut dari start)
+    public void pathTo(int end, IntList out) {
+        out.clear();
+        for (int c = end; c != -1; c = parentOf(c)) out.add(c);
+        out.reverse();
+    }
+}
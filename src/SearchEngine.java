@@ -0,0 +1,535 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Inti solver tanpa alokasi per langkah: tetangga dibaca dari bit dinding,
+// BFS pakai ring buffer, DFS pakai stack int[], Dijkstra/A* pakai heap long
+// (atau bucket queue / heap terindeks untuk varian Dial). Varian dua arah memakai
+// context kedua dari ctx.partner() untuk frontier yang berangkat dari end. Varian Corridor
+// mencari di CorridorGraph (lorong diringkas jadi satu sisi) yang di-cache per versi maze,
+// HPA* mencari di ClusterGraph (entrance antar cluster) yang di-update per cluster.
+// A* (ALT) memakai tabel Landmarks sebagai heuristik. Banyak start ke goal yang sama dijawab
+// dari DistanceField (satu Dijkstra per goal, di-cache LRU per versi maze).
+//
+// Engine hanya memegang topologi maze dan tidak punya state per query; semua state ada
+// di SearchContext. Satu engine boleh dipakai banyak thread sekaligus selama maze-nya
+// tidak sedang diubah. Maze bisa MazeGrid di heap atau MappedMaze langsung dari file.
+public class SearchEngine {
+    private final Maze grid;
+    private final int n;
+    private final int[] offset = new int[MazeGrid.ALL_WALLS + 1]; // bit dinding -> selisih index tetangga
+
+    private volatile CorridorGraph corridors; // Dibangun saat pertama dipakai, dibangun ulang kalau versi maze berubah
+    private volatile ClusterGraph clusters;   // Sama, tapi di-update per cluster yang berubah saja
+    private volatile Landmarks landmarks;     // Dipakai kalau maze tidak bisa menyimpan tabelnya sendiri (MappedMaze)
+
+    // Total sel semua DistanceField yang boleh di-cache (int[] 4 byte/sel, ~64 MB), minimal 2 medan
+    static final int FIELD_CACHE_CELLS = 1 << 24;
+    private final int fieldCacheSize;
+    private final LinkedHashMap<Long, DistanceField> fields; // Urutan akses = LRU, dijaga synchronized
+
+    public SearchEngine(Maze grid) {
+        this.grid = grid;
+        this.n = grid.size();
+        int cols = grid.getCols();
+        offset[MazeGrid.TOP] = -cols;
+        offset[MazeGrid.RIGHT] = 1;
+        offset[MazeGrid.BOTTOM] = cols;
+        offset[MazeGrid.LEFT] = -1;
+        fieldCacheSize = Math.max(2, FIELD_CACHE_CELLS / Math.max(1, n));
+        fields = new LinkedHashMap<Long, DistanceField>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Long, DistanceField> eldest) { return size() > fieldCacheSize; }
+        };
+    }
+
+    public Maze getGrid() { return grid; }
+
+    CorridorGraph corridors() {
+        CorridorGraph graph = corridors;
+        if (graph != null && graph.version == grid.version()) return graph;
+        synchronized (this) {
+            graph = corridors;
+            if (graph == null || graph.version != grid.version()) corridors = graph = new CorridorGraph(grid);
+            return graph;
+        }
+    }
+
+    ClusterGraph clusters() {
+        ClusterGraph graph = clusters;
+        if (graph != null && graph.version == grid.version()) return graph;
+        synchronized (this) {
+            graph = clusters;
+            if (graph == null) clusters = graph = new ClusterGraph(grid);
+            else if (graph.version != grid.version()) clusters = graph = graph.update();
+            return graph;
+        }
+    }
+
+    // Tabel landmark untuk versi maze sekarang: pakai yang tersimpan di maze kalau masih berlaku,
+    // kalau tidak hitung ulang dan titipkan ke MazeGrid supaya ikut tersimpan ke file.
+    public Landmarks landmarks() {
+        Landmarks table = grid.landmarks();
+        if (table != null && table.version == grid.version()) return table;
+        table = landmarks;
+        if (table != null && table.version == grid.version()) return table;
+        synchronized (this) {
+            table = grid.landmarks();
+            if (table == null || table.version != grid.version()) table = landmarks;
+            if (table == null || table.version != grid.version()) {
+                table = Landmarks.compute(grid, Landmarks.DEFAULT_COUNT);
+                if (grid instanceof MazeGrid) ((MazeGrid) grid).setLandmarks(table);
+            }
+            landmarks = table;
+            return table;
+        }
+    }
+
+    // Medan jarak ke 'goal' untuk versi maze sekarang. Dihitung di luar lock, jadi dua thread yang
+    // minta goal baru yang sama bisa menghitung dua kali, tapi query untuk goal lain tidak tertahan.
+    public DistanceField distanceField(int goal) {
+        int version = grid.version();
+        Long key = ((long) version << 32) | goal;
+        synchronized (fields) {
+            DistanceField field = fields.get(key);
+            if (field != null) return field;
+        }
+        DistanceField field = DistanceField.compute(grid, goal);
+        synchronized (fields) {
+            fields.values().removeIf(f -> f.version != version); // Medan versi lama tidak akan dipakai lagi
+            fields.put(key, field);
+        }
+        return field;
+    }
+
+    // Query start -> goal lewat medan jarak: setelah medan goal ada di cache, O(panjang path).
+    // cellsExplored = 0 kalau medan diambil dari cache, n kalau baru dihitung.
+    public PathResult pathToGoal(int start, int goal) {
+        SolverMetrics.SolveEvent event = null;
+        if (SolverMetrics.ENABLED) {
+            event = new SolverMetrics.SolveEvent();
+            event.begin();
+        }
+        long t0 = System.nanoTime();
+        int version = grid.version();
+        boolean cached;
+        synchronized (fields) { cached = fields.containsKey(((long) version << 32) | goal); }
+        DistanceField field = distanceField(goal);
+        IntList path = new IntList();
+        int cost = field.pathFrom(start, path);
+        long elapsed = System.nanoTime() - t0;
+        int explored = cached ? 0 : n;
+        if (event != null) {
+            // Medan dari cache: tidak ada ekspansi, counter nol
+            SolverMetrics.Counters counters = cached ? new SolverMetrics.Counters() : field.counters;
+            SolverMetrics.record(MazeSolver.DISTANCE_FIELD, n, cost >= 0, explored, counters, 0, elapsed, event);
+        }
+        if (cost < 0) return new PathResult(false, new int[0], 0, explored, elapsed / 1000);
+        return new PathResult(true, path.toArray(), cost, explored, elapsed / 1000);
+    }
+
+    // Hasil query yang tidak bergantung pada context (aman dibawa ke thread lain)
+    public static final class PathResult {
+        public final boolean found;
+        public final int[] path;
+        public final int pathCost, cellsExplored;
+        public final long timeUs;
+
+        PathResult(boolean found, int[] path, int pathCost, int cellsExplored, long timeUs) {
+            this.found = found;
+            this.path = path;
+            this.pathCost = pathCost;
+            this.cellsExplored = cellsExplored;
+            this.timeUs = timeUs;
+        }
+    }
+
+    // Query sekali jalan: pinjam context dari pool, cari path, kembalikan context.
+    public PathResult findPath(String algorithm, int start, int end) {
+        SearchContext ctx = SearchContext.acquire(n);
+        try {
+            long t0 = System.nanoTime();
+            boolean found = solve(algorithm, start, end, ctx);
+            long timeUs = (System.nanoTime() - t0) / 1000;
+            if (!found) return new PathResult(false, new int[0], 0, ctx.explored, timeUs);
+            IntList path = new IntList();
+            ctx.pathTo(end, path);
+            int cost = 0;
+            for (int i = 0; i < path.size(); i++) cost += grid.weight(path.get(i));
+            return new PathResult(true, path.toArray(), cost, ctx.explored, timeUs);
+        } finally {
+            ctx.release();
+        }
+    }
+
+    // K path terpendek tanpa loop (Yen), urut dari yang termurah. cellsExplored dan timeUs di tiap
+    // hasil = total seluruh panggilan (semua spur search; medan jarak goal diambil dari cache).
+    public List<PathResult> kShortestPaths(int start, int end, int k) {
+        return kShortestPaths(start, end, k, null);
+    }
+
+    // Nama algoritma untuk SolverMetrics
+    static final String K_SHORTEST = "K Shortest Paths (Yen)";
+
+    public List<PathResult> kShortestPaths(int start, int end, int k, SearchContext.Progress progress) {
+        SolverMetrics.SolveEvent event = null;
+        if (SolverMetrics.ENABLED) {
+            event = new SolverMetrics.SolveEvent();
+            event.begin();
+        }
+        long t0 = System.nanoTime();
+        DistanceField tree = distanceField(end);
+        long treeNs = System.nanoTime() - t0; // Pohon terbalik (cache atau hitung) = bagian "reset"
+        KShortestPaths yen = new KShortestPaths(grid, tree, progress);
+        boolean found = false;
+        try {
+            List<KShortestPaths.Candidate> paths = yen.find(start, end, k);
+            found = !paths.isEmpty();
+            long timeUs = (System.nanoTime() - t0) / 1000;
+            List<PathResult> results = new ArrayList<>(paths.size());
+            for (KShortestPaths.Candidate p : paths) results.add(new PathResult(true, p.cells, p.cost, yen.expanded, timeUs));
+            return results;
+        } finally {
+            yen.release();
+            if (event != null) {
+                yen.counters.resetNs += treeNs;
+                SolverMetrics.record(K_SHORTEST, n, found, yen.expanded, yen.counters, 0, System.nanoTime() - t0, event);
+            }
+        }
+    }
+
+    public boolean solve(String algorithm, int start, int end, SearchContext ctx) {
+        if (!SolverMetrics.ENABLED) {
+            ctx.begin();
+            return search(algorithm, start, end, ctx);
+        }
+        // Reset (begin) dan pencarian diukur terpisah; dicatat juga kalau search gagal/dibatalkan
+        SolverMetrics.SolveEvent event = new SolverMetrics.SolveEvent();
+        event.begin();
+        long t0 = System.nanoTime();
+        ctx.begin();
+        long t1 = System.nanoTime();
+        boolean found = false;
+        try {
+            found = search(algorithm, start, end, ctx);
+            return found;
+        } finally {
+            SolverMetrics.record(algorithm, grid.size(), found, ctx, t1 - t0, System.nanoTime() - t1, event);
+        }
+    }
+
+    private boolean search(String algorithm, int start, int end, SearchContext ctx) {
+        switch (algorithm) {
+            case "BFS": return bfs(start, end, ctx);
+            case "DFS": return dfs(start, end, ctx);
+            case "Dijkstra": return bestFirst(start, end, false, null, ctx);
+            case "A*": return bestFirst(start, end, true, null, ctx);
+            case "A* (ALT)": return bestFirst(start, end, true, landmarks(), ctx);
+            case "Dijkstra (Dial)": return indexedBestFirst(start, end, false, ctx);
+            case "A* (Dial)": return indexedBestFirst(start, end, true, ctx);
+            case "Bidirectional BFS": return biBfs(start, end, ctx);
+            case "Bidirectional Dijkstra": return biBestFirst(start, end, false, ctx);
+            case "Bidirectional A*": return biBestFirst(start, end, true, ctx);
+            case "Corridor Dijkstra": return corridors().search(start, end, false, ctx);
+            case "Corridor A*": return corridors().search(start, end, true, ctx);
+            case "HPA*": return clusters().search(start, end, ctx);
+            default: throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
+    private static void expand(int c, SearchContext ctx) {
+        ctx.trace.add(c);
+        ctx.explored++;
+    }
+
+    private static void expand(int c, SearchContext ctx, boolean forward) {
+        expand(c, ctx);
+        if (!forward) ctx.exploredBackward++;
+    }
+
+    // Sel border selalu punya dinding luar, jadi bit yang terbuka pasti menunjuk ke sel valid.
+    private int openDirs(int c) { return ~grid.walls(c) & MazeGrid.ALL_WALLS; }
+
+    private boolean bfs(int start, int end, SearchContext ctx) {
+        IntQueue queue = ctx.queue;
+        queue.add(start);
+        ctx.countPush();
+        ctx.open(start, 0, -1);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            ctx.countPop();
+            expand(current, ctx);
+            if (current == end) return true;
+            ctx.tick(queue.size());
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                ctx.countRelax();
+                if (!ctx.isTouched(neighbor)) {
+                    ctx.open(neighbor, 0, current);
+                    queue.add(neighbor);
+                    ctx.countPush();
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean dfs(int start, int end, SearchContext ctx) {
+        IntList stack = ctx.stack;
+        stack.add(start);
+        ctx.countPush();
+        ctx.open(start, 0, -1);
+
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            ctx.countPop();
+            expand(current, ctx);
+            if (current == end) return true;
+            ctx.tick(stack.size());
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                ctx.countRelax();
+                if (!ctx.isTouched(neighbor)) {
+                    ctx.open(neighbor, 0, current);
+                    stack.add(neighbor);
+                    ctx.countPush();
+                }
+            }
+        }
+        return false;
+    }
+
+    // Dijkstra dan A* hanya beda di key heap: g atau g + h (lazy deletion, entry basi di-skip).
+    // alt != null: h = max(Manhattan, batas bawah landmark), tetap admissible dan konsisten.
+    private boolean bestFirst(int start, int end, boolean useHeuristic, Landmarks alt, SearchContext ctx) {
+        LongMinHeap heap = ctx.heap;
+        int cols = grid.getCols();
+        int endRow = end / cols, endCol = end % cols;
+        int endWeight = grid.weight(end);
+        ctx.open(start, 0, -1);
+        heap.add(LongMinHeap.pack(useHeuristic ? estimate(start, end, endRow, endCol, endWeight, alt) : 0, start));
+        ctx.countPush();
+
+        while (!heap.isEmpty()) {
+            int current = LongMinHeap.cell(heap.poll());
+            ctx.countPop();
+            if (ctx.isClosed(current)) {
+                ctx.countStale();
+                continue;
+            }
+            ctx.close(current);
+            expand(current, ctx);
+            if (current == end) return true;
+            ctx.tick(heap.size());
+
+            int currentCost = ctx.gCost[current];
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                ctx.countRelax();
+                if (ctx.isClosed(neighbor)) continue;
+                int newCost = currentCost + grid.weight(neighbor);
+                if (newCost < ctx.g(neighbor)) {
+                    ctx.open(neighbor, newCost, current);
+                    int key = useHeuristic ? newCost + estimate(neighbor, end, endRow, endCol, endWeight, alt) : newCost;
+                    heap.add(LongMinHeap.pack(key, neighbor));
+                    ctx.countPush();
+                }
+            }
+        }
+        return false;
+    }
+
+    // Sama seperti bestFirst, tapi antrian mendukung decrease-key sehingga tiap sel
+    // paling banyak satu kali ada di antrian.
+    private boolean indexedBestFirst(int start, int end, boolean useHeuristic, SearchContext ctx) {
+        BucketQueue pq = indexedQueue(ctx);
+        pq.clear();
+        int cols = grid.getCols();
+        int endRow = end / cols, endCol = end % cols;
+        ctx.open(start, 0, -1);
+        pq.push(start, useHeuristic ? manhattan(start, endRow, endCol, cols) : 0);
+        ctx.countPush();
+
+        while (!pq.isEmpty()) {
+            int current = pq.poll();
+            ctx.countPop();
+            ctx.close(current);
+            expand(current, ctx);
+            if (current == end) return true;
+            ctx.tick(pq.size());
+
+            int currentCost = ctx.gCost[current];
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                ctx.countRelax();
+                if (ctx.isClosed(neighbor)) continue;
+                int newCost = currentCost + grid.weight(neighbor);
+                if (newCost < ctx.g(neighbor)) {
+                    ctx.open(neighbor, newCost, current);
+                    pq.push(neighbor, useHeuristic ? newCost + manhattan(neighbor, endRow, endCol, cols) : newCost);
+                    ctx.countPush();
+                }
+            }
+        }
+        return false;
+    }
+
+    // --- DUA ARAH ---
+    // Frontier maju dari start (di ctx) dan frontier mundur dari end (di ctx.partner()).
+    // Di graf mundur langkah v -> u bernilai cost(v), jadi gMundur(u) = cost path u..end tanpa u,
+    // dan path lewat sisi (u di sisi maju, v di sisi mundur) bernilai gMaju(u) + cost(v) + gMundur(v).
+    // Nilai terbaik yang pernah terlihat (mu) disimpan bersama sisi pertemuannya.
+
+    // BFS dua arah: selalu habiskan satu level penuh dari frontier yang lebih kecil,
+    // lalu berhenti di level pertama yang menemukan pertemuan (minimum atas level itu).
+    private boolean biBfs(int start, int end, SearchContext ctx) {
+        SearchContext back = ctx.partner();
+        ctx.open(start, 0, -1);
+        ctx.queue.add(start);
+        ctx.countPush();
+        back.open(end, 0, -1);
+        back.queue.add(end);
+        ctx.countPush();
+        if (start == end) {
+            expand(start, ctx);
+            return true;
+        }
+
+        while (!ctx.queue.isEmpty() && !back.queue.isEmpty()) {
+            boolean forward = ctx.queue.size() <= back.queue.size();
+            SearchContext self = forward ? ctx : back, other = forward ? back : ctx;
+            IntQueue queue = self.queue;
+            int best = Integer.MAX_VALUE, meetSelf = -1, meetOther = -1;
+
+            for (int k = queue.size(); k > 0; k--) {
+                int current = queue.poll();
+                ctx.countPop();
+                expand(current, ctx, forward);
+                ctx.tick(ctx.queue.size() + back.queue.size());
+                int depth = self.gCost[current] + 1;
+                for (int open = openDirs(current); open != 0; open &= open - 1) {
+                    int neighbor = current + offset[open & -open];
+                    ctx.countRelax();
+                    if (other.isTouched(neighbor) && depth + other.gCost[neighbor] < best) {
+                        best = depth + other.gCost[neighbor];
+                        meetSelf = current;
+                        meetOther = neighbor;
+                    }
+                    if (!self.isTouched(neighbor)) {
+                        self.open(neighbor, depth, current);
+                        queue.add(neighbor);
+                        ctx.countPush();
+                    }
+                }
+            }
+            if (meetSelf != -1) {
+                if (forward) splice(ctx, back, meetSelf, meetOther);
+                else splice(ctx, back, meetOther, meetSelf);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Dijkstra / A* dua arah dengan heap lazy di tiap sisi; sisi yang diekspansi adalah yang heap-nya
+    // lebih kecil. Berhenti saat key minimum maju + key minimum mundur >= mu.
+    // A* memakai potensial rata-rata p(v) = (hEnd(v) - hStart(v)) / 2 (maju +p, mundur -p) supaya
+    // kedua sisi konsisten dan kriteria berhenti yang sama tetap benar. Semua key dikali 2 agar
+    // tetap integer (dan >= 0 karena g >= Manhattan). Entry basi di puncak heap hanya membuat
+    // berhenti sedikit lebih lambat, tidak salah.
+    private boolean biBestFirst(int start, int end, boolean useHeuristic, SearchContext ctx) {
+        SearchContext back = ctx.partner();
+        int cols = grid.getCols();
+        int startRow = start / cols, startCol = start % cols;
+        int endRow = end / cols, endCol = end % cols;
+        ctx.open(start, 0, -1);
+        ctx.heap.add(LongMinHeap.pack(useHeuristic ? manhattan(start, endRow, endCol, cols) : 0, start));
+        ctx.countPush();
+        back.open(end, 0, -1);
+        back.heap.add(LongMinHeap.pack(useHeuristic ? manhattan(end, startRow, startCol, cols) : 0, end));
+        ctx.countPush();
+        if (start == end) {
+            expand(start, ctx);
+            return true;
+        }
+
+        int best = Integer.MAX_VALUE;
+        int meetForward = -1, meetBackward = -1;
+        while (!ctx.heap.isEmpty() && !back.heap.isEmpty()) {
+            long top = (long) LongMinHeap.cost(ctx.heap.peek()) + LongMinHeap.cost(back.heap.peek());
+            if (top >= 2L * best) break;
+
+            boolean forward = ctx.heap.size() <= back.heap.size();
+            SearchContext self = forward ? ctx : back, other = forward ? back : ctx;
+            int current = LongMinHeap.cell(self.heap.poll());
+            ctx.countPop();
+            if (self.isClosed(current)) {
+                ctx.countStale();
+                continue;
+            }
+            self.close(current);
+            expand(current, ctx, forward);
+            ctx.tick(ctx.heap.size() + back.heap.size());
+
+            int currentCost = self.gCost[current];
+            int stepOut = forward ? 0 : grid.weight(current); // Mundur: bobot sel asal yang dibayar
+            for (int open = openDirs(current); open != 0; open &= open - 1) {
+                int neighbor = current + offset[open & -open];
+                ctx.countRelax();
+                int newCost = currentCost + (forward ? grid.weight(neighbor) : stepOut);
+                if (other.isTouched(neighbor) && newCost + other.gCost[neighbor] < best) {
+                    best = newCost + other.gCost[neighbor];
+                    meetForward = forward ? current : neighbor;
+                    meetBackward = forward ? neighbor : current;
+                }
+                if (self.isClosed(neighbor)) continue;
+                if (newCost < self.g(neighbor)) {
+                    self.open(neighbor, newCost, current);
+                    int key = 2 * newCost;
+                    if (useHeuristic) {
+                        int potential = manhattan(neighbor, endRow, endCol, cols) - manhattan(neighbor, startRow, startCol, cols);
+                        key += forward ? potential : -potential;
+                    }
+                    self.heap.add(LongMinHeap.pack(key, neighbor));
+                    ctx.countPush();
+                }
+            }
+        }
+        if (meetForward == -1) return false;
+        splice(ctx, back, meetForward, meetBackward);
+        return true;
+    }
+
+    // Sambung rantai parent sisi mundur (from -> ... -> end) ke ctx supaya ctx.pathTo(end) utuh.
+    private static void splice(SearchContext ctx, SearchContext back, int forwardCell, int backwardCell) {
+        int prev = forwardCell;
+        for (int c = backwardCell; c != -1; ) {
+            int next = back.parentOf(c);
+            ctx.open(c, 0, prev);
+            prev = c;
+            c = next;
+        }
+    }
+
+    // Key baru selalu <= key minimum + bobot langkah + 1 (Manhattan naik paling banyak 1 per langkah).
+    // Bobot terrain tetap (maks 10), jadi rentangnya selalu kecil dan bucket queue selalu cukup.
+    private BucketQueue indexedQueue(SearchContext ctx) {
+        int range = MazeGrid.maxWeight() + 2;
+        BucketQueue q = ctx.indexedQueue;
+        if (q == null || q.bucketCount() < range) {
+            q = new BucketQueue(ctx.capacity, range);
+            ctx.indexedQueue = q;
+        }
+        return q;
+    }
+
+    private int estimate(int cell, int end, int endRow, int endCol, int endWeight, Landmarks alt) {
+        int h = manhattan(cell, endRow, endCol, grid.getCols());
+        return alt == null ? h : Math.max(h, alt.lowerBound(cell, grid.weight(cell), end, endWeight));
+    }
+
+    private static int manhattan(int cell, int endRow, int endCol, int cols) {
+        return Math.abs(endRow - cell / cols) + Math.abs(endCol - cell % cols);
+    }
+}
@@ -0,0 +1,230 @@
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// Instrumentasi solve: counter per query (push/pop heap, pop basi, relaksasi sisi, puncak
+// frontier, memori trace) plus waktu reset vs waktu cari. Dicatat di SearchEngine.solve (counter
+// di SearchContext), SearchEngine.pathToGoal / kShortestPaths dan MazeSolver untuk LPA* (Counters).
+// Tiap solve dikirim sebagai event JFR "maze.Solve" dan diagregasi per algoritma di MBean
+// "maze:type=SolverStats" (histogram log2 waktu cari, persentil, total counter).
+//
+// Aktif hanya dengan -Dmaze.metrics=true. ENABLED static final, jadi saat mati semua cabang
+// count*() dan pencatatan dibuang JIT: tidak ada biaya di jalur solve.
+public final class SolverMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("maze.metrics");
+    static final String OBJECT_NAME = "maze:type=SolverStats";
+    private static final int BUCKETS = 64; // Bucket i = waktu cari [2^i, 2^(i+1)) ns
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static volatile boolean registered;
+
+    private SolverMetrics() {}
+
+    @Name("maze.Solve")
+    @Label("Maze Solve")
+    @Category("Maze")
+    static final class SolveEvent extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Cells") int cells;
+        @Label("Found") boolean found;
+        @Label("Explored") int explored;
+        @Label("Heap Pushes") int pushes;
+        @Label("Heap Pops") int pops;
+        @Label("Stale Pops") int stalePops;
+        @Label("Relaxations") int relaxations;
+        @Label("Peak Frontier") int peakFrontier;
+        @Label("Trace Memory") @DataAmount long traceBytes;
+        @Label("Reset Time") @Timespan long resetTime;
+        @Label("Search Time") @Timespan long searchTime;
+    }
+
+    // Counter untuk solver yang state-nya tidak di satu SearchContext (LPA*, Yen, DistanceField).
+    // Sama seperti SearchContext.count*: no-op kalau metrics mati. resetNs = persiapan sebelum
+    // pencarian (sinkron snapshot LPA*, isi array jarak, begin() spur).
+    static final class Counters {
+        int pushes, pops, stalePops, relaxations, peakFrontier;
+        long resetNs;
+
+        void push() { if (ENABLED) pushes++; }
+        void pop() { if (ENABLED) pops++; }
+        void stale() { if (ENABLED) stalePops++; }
+        void relax() { if (ENABLED) relaxations++; }
+        void frontier(int size) { if (ENABLED && size > peakFrontier) peakFrontier = size; }
+
+        void clear() {
+            pushes = pops = stalePops = relaxations = peakFrontier = 0;
+            resetNs = 0;
+        }
+    }
+
+    // Dipanggil di thread yang menjalankan solve, setelah search selesai (juga kalau gagal)
+    static void record(String algorithm, int cells, boolean found, SearchContext ctx, long resetNs, long searchNs, SolveEvent event) {
+        int[] c = ctx.counters();
+        record(algorithm, cells, found, ctx.explored, c[0], c[1], c[2], c[3], ctx.peakFrontier,
+                ctx.trace.memoryBytes() + ctx.trace.spilledBytes(), resetNs, searchNs, event);
+    }
+
+    // totalNs = seluruh solve; bagian reset diambil dari counters.resetNs
+    static void record(String algorithm, int cells, boolean found, int explored, Counters c, long traceBytes, long totalNs, SolveEvent event) {
+        record(algorithm, cells, found, explored, c.pushes, c.pops, c.stalePops, c.relaxations, c.peakFrontier,
+                traceBytes, c.resetNs, Math.max(0, totalNs - c.resetNs), event);
+    }
+
+    private static void record(String algorithm, int cells, boolean found, int explored, int pushes, int pops, int stalePops,
+                               int relaxations, int peakFrontier, long traceBytes, long resetNs, long searchNs, SolveEvent event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.cells = cells;
+            event.found = found;
+            event.explored = explored;
+            event.pushes = pushes;
+            event.pops = pops;
+            event.stalePops = stalePops;
+            event.relaxations = relaxations;
+            event.peakFrontier = peakFrontier;
+            event.traceBytes = traceBytes;
+            event.resetTime = resetNs;
+            event.searchTime = searchNs;
+            event.commit();
+        }
+
+        if (!registered) register();
+        Stats s = STATS.computeIfAbsent(algorithm, a -> new Stats());
+        s.solves.increment();
+        if (found) s.found.increment();
+        s.searchNs.add(searchNs);
+        s.resetNs.add(resetNs);
+        s.explored.add(explored);
+        s.pushes.add(pushes);
+        s.pops.add(pops);
+        s.stalePops.add(stalePops);
+        s.relaxations.add(relaxations);
+        s.maxSearchNs.accumulateAndGet(searchNs, Math::max);
+        s.maxPeakFrontier.accumulateAndGet(peakFrontier, Math::max);
+        s.maxTraceBytes.accumulateAndGet(traceBytes, Math::max);
+        s.histogram.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(searchNs, 1)));
+    }
+
+    private static synchronized void register() {
+        if (registered) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(new StatsBean(), name);
+        } catch (JMException e) {
+            // Agregasi tetap jalan lewat snapshot(), hanya tidak terlihat di JMX
+        }
+        registered = true;
+    }
+
+    // Snapshot agregat per algoritma (urut nama), sama dengan atribut Algorithms di MBean
+    public static Map<String, AlgorithmSnapshot> snapshot() {
+        Map<String, AlgorithmSnapshot> out = new TreeMap<>();
+        STATS.forEach((name, s) -> out.put(name, s.snapshot()));
+        return out;
+    }
+
+    public static void reset() { STATS.clear(); }
+
+    // --- JMX ---
+    public interface StatsMXBean {
+        Map<String, AlgorithmSnapshot> getAlgorithms();
+        long getTotalSolves();
+        void reset();
+    }
+
+    private static final class StatsBean implements StatsMXBean {
+        @Override public Map<String, AlgorithmSnapshot> getAlgorithms() { return snapshot(); }
+
+        @Override public long getTotalSolves() {
+            long total = 0;
+            for (Stats s : STATS.values()) total += s.solves.sum();
+            return total;
+        }
+
+        @Override public void reset() { SolverMetrics.reset(); }
+    }
+
+    private static final class Stats {
+        final LongAdder solves = new LongAdder(), found = new LongAdder();
+        final LongAdder searchNs = new LongAdder(), resetNs = new LongAdder(), explored = new LongAdder();
+        final LongAdder pushes = new LongAdder(), pops = new LongAdder(), stalePops = new LongAdder(), relaxations = new LongAdder();
+        final AtomicLong maxSearchNs = new AtomicLong(), maxPeakFrontier = new AtomicLong(), maxTraceBytes = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        AlgorithmSnapshot snapshot() {
+            long[] h = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) h[i] = histogram.get(i);
+            return new AlgorithmSnapshot(solves.sum(), found.sum(), searchNs.sum(), resetNs.sum(), explored.sum(),
+                    pushes.sum(), pops.sum(), stalePops.sum(), relaxations.sum(),
+                    maxSearchNs.get(), maxPeakFrontier.get(), maxTraceBytes.get(), h);
+        }
+    }
+
+    // Nilai tetap (getter saja) supaya MXBean bisa memetakannya ke CompositeData.
+    // Persentil dari histogram log2, jadi batas atas bucket-nya (paling jauh 2x nilai asli).
+    public static final class AlgorithmSnapshot {
+        private final long solves, found, searchNs, resetNs, explored, pushes, pops, stalePops, relaxations;
+        private final long maxSearchNs, maxPeakFrontier, maxTraceBytes;
+        private final long[] histogram;
+
+        AlgorithmSnapshot(long solves, long found, long searchNs, long resetNs, long explored,
+                          long pushes, long pops, long stalePops, long relaxations,
+                          long maxSearchNs, long maxPeakFrontier, long maxTraceBytes, long[] histogram) {
+            this.solves = solves;
+            this.found = found;
+            this.searchNs = searchNs;
+            this.resetNs = resetNs;
+            this.explored = explored;
+            this.pushes = pushes;
+            this.pops = pops;
+            this.stalePops = stalePops;
+            this.relaxations = relaxations;
+            this.maxSearchNs = maxSearchNs;
+            this.maxPeakFrontier = maxPeakFrontier;
+            this.maxTraceBytes = maxTraceBytes;
+            this.histogram = histogram;
+        }
+
+        public long getSolves() { return solves; }
+        public long getFound() { return found; }
+        public double getMeanSearchUs() { return solves == 0 ? 0 : searchNs / 1000.0 / solves; }
+        public double getMeanResetUs() { return solves == 0 ? 0 : resetNs / 1000.0 / solves; }
+        public double getP50SearchUs() { return percentileUs(0.50); }
+        public double getP90SearchUs() { return percentileUs(0.90); }
+        public double getP99SearchUs() { return percentileUs(0.99); }
+        public double getMaxSearchUs() { return maxSearchNs / 1000.0; }
+        public double getMeanExplored() { return solves == 0 ? 0 : (double) explored / solves; }
+        public long getPushes() { return pushes; }
+        public long getPops() { return pops; }
+        public long getStalePops() { return stalePops; }
+        public long getRelaxations() { return relaxations; }
+        public long getMaxPeakFrontier() { return maxPeakFrontier; }
+        public long getMaxTraceBytes() { return maxTraceBytes; }
+        public long[] getSearchTimeHistogram() { return histogram.clone(); } // Index i = [2^i, 2^(i+1)) ns
+
+        private double percentileUs(double p) {
+            if (solves == 0) return 0;
+            long rank = (long) Math.ceil(p * solves), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= rank) return Math.min(maxSearchNs, (1L << Math.min(i + 1, 62)) - 1) / 1000.0;
+            }
+            return maxSearchNs / 1000.0;
+        }
+    }
+}